@@ -7,9 +7,13 @@ plugins {
 group = "org.example"
 version = "0.0.1-SNAPSHOT"
 
+// The service runs on Reactor Netty by default. Build with -PwebRuntime=servlet
+// for the Tomcat/Spring MVC variant.
+val servletRuntime = findProperty("webRuntime") == "servlet"
+
 java {
 	toolchain {
-		languageVersion = JavaLanguageVersion.of(17)
+		languageVersion = JavaLanguageVersion.of(21)
 	}
 }
 
@@ -18,8 +22,18 @@ repositories {
 }
 
 dependencies {
-	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-webflux")
+	if (servletRuntime) {
+		implementation("org.springframework.boot:spring-boot-starter-web")
+	}
+	implementation("com.github.ben-manes.caffeine:caffeine")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+	implementation("org.springframework.boot:spring-boot-starter-aop")
+	implementation("io.github.resilience4j:resilience4j-spring-boot3:2.2.0")
+	implementation("io.github.resilience4j:resilience4j-reactor:2.2.0")
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("io.projectreactor:reactor-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -1,6 +1,6 @@
 // Configure JaCoCo
 project.jacoco {
-    toolVersion = "0.8.8"
+    toolVersion = "0.8.11"
 }
 
 project.jacocoTestReport {
@@ -0,0 +1,93 @@
+package com.example.weatherservice.cache;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A value served from {@link ResponseCache}, together with when it was fetched
+ * upstream, until when it counts as fresh, and whether it is past its TTL
+ * (served while a refresh runs).
+ * <p>
+ * Encoded forms of the value (e.g. JSON bytes) can be memoized with
+ * {@link #encoded}; every lookup of the same cache entry shares them, so a hot
+ * entry is serialized once rather than on every response.
+ */
+public class Cached<V> {
+
+    private final V value;
+    private final Instant fetchedAt;
+    private final Instant freshUntil;
+    private final boolean stale;
+    private final ConcurrentMap<String, byte[]> encodings;
+    // Namespace within encodings for values derived from the entry's value
+    private final String encodingScope;
+
+    /**
+     * A value with no known freshness lifetime beyond the moment it was fetched.
+     */
+    public Cached(V value, Instant fetchedAt, boolean stale) {
+        this(value, fetchedAt, fetchedAt, stale);
+    }
+
+    public Cached(V value, Instant fetchedAt, Instant freshUntil, boolean stale) {
+        this(value, fetchedAt, freshUntil, stale, new ConcurrentHashMap<>());
+    }
+
+    Cached(V value, Instant fetchedAt, Instant freshUntil, boolean stale,
+           ConcurrentMap<String, byte[]> encodings) {
+        this(value, fetchedAt, freshUntil, stale, encodings, "");
+    }
+
+    private Cached(V value, Instant fetchedAt, Instant freshUntil, boolean stale,
+                   ConcurrentMap<String, byte[]> encodings, String encodingScope) {
+        this.value = value;
+        this.fetchedAt = fetchedAt;
+        this.freshUntil = freshUntil;
+        this.stale = stale;
+        this.encodings = encodings;
+        this.encodingScope = encodingScope;
+    }
+
+    public V getValue() {
+        return value;
+    }
+
+    public Instant getFetchedAt() {
+        return fetchedAt;
+    }
+
+    /**
+     * When the value stops being fresh; clients may reuse it until then.
+     */
+    public Instant getFreshUntil() {
+        return freshUntil;
+    }
+
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * The value in the named representation, encoded on first use and reused
+     * for as long as the underlying cache entry lives.
+     */
+    public byte[] encoded(String representation, Function<? super V, byte[]> encoder) {
+        return encodings.computeIfAbsent(encodingScope + representation, key -> encoder.apply(value));
+    }
+
+    public <R> Cached<R> map(Function<V, R> mapper) {
+        return new Cached<>(mapper.apply(value), fetchedAt, freshUntil, stale);
+    }
+
+    /**
+     * Like {@link #map}, for a derived value that is the same every time for a
+     * given {@code name} (e.g. a slice of the value). Its encoded forms are
+     * memoized on this cache entry under that name.
+     */
+    public <R> Cached<R> view(String name, Function<V, R> mapper) {
+        return new Cached<>(mapper.apply(value), fetchedAt, freshUntil, stale,
+                encodings, encodingScope + name + "/");
+    }
+}
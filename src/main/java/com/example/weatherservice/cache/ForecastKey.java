@@ -0,0 +1,8 @@
+package com.example.weatherservice.cache;
+
+/**
+ * Cache key for forecasts: the resolved location plus the horizon fetched for it
+ * (always the configured maximum; shorter requests are sliced from that entry).
+ */
+public record ForecastKey(String location, int days) {
+}
@@ -0,0 +1,123 @@
+package com.example.weatherservice.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Approximate request frequency per key with a bounded top-K list.
+ * <p>
+ * Counts live in a count-min sketch, so memory is fixed no matter how many
+ * distinct keys are seen. Only the {@code capacity} most frequent keys are kept
+ * by name. {@link #decay()} halves every count, so keys that stop being
+ * requested drop out over time.
+ * <p>
+ * {@link #record} is on the request path and takes no lock: counters are
+ * atomic, and a key only becomes a top-K candidate once its estimate beats the
+ * coldest key of the last ranking. Ranking and trimming the candidates back to
+ * {@code capacity} happens in {@link #top} and {@link #decay}.
+ */
+public class HotKeySketch<K> {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int capacity;
+    private final int maxCandidates;
+    private final int mask;
+    private final AtomicLongArray[] counts;
+    private final Set<K> candidates = ConcurrentHashMap.newKeySet();
+    // Estimate of the coldest key in a full top list; a new key has to beat it to get in
+    private volatile long floor;
+
+    public HotKeySketch(int capacity, int width) {
+        this.capacity = capacity;
+        // Headroom for newly hot keys between two rankings
+        this.maxCandidates = 2 * capacity;
+        int size = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(16, width) - 1));
+        this.mask = size - 1;
+        this.counts = new AtomicLongArray[DEPTH];
+        for (int row = 0; row < DEPTH; row++) {
+            counts[row] = new AtomicLongArray(size);
+        }
+    }
+
+    public void record(K key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts[row].incrementAndGet(indexOf(hash, row)));
+        }
+
+        if (estimate > floor && candidates.size() < maxCandidates && !candidates.contains(key)) {
+            candidates.add(key);
+        }
+    }
+
+    public long estimate(K key) {
+        int hash = key.hashCode();
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counts[row].get(indexOf(hash, row)));
+        }
+        return estimate;
+    }
+
+    /**
+     * Up to {@code limit} keys, most frequent first.
+     */
+    public List<K> top(int limit) {
+        List<K> ranked = rank();
+        return new ArrayList<>(ranked.subList(0, Math.min(limit, ranked.size())));
+    }
+
+    /**
+     * Halves every count. Keys whose count reaches zero leave the top list.
+     */
+    public void decay() {
+        for (AtomicLongArray row : counts) {
+            for (int i = 0; i < row.length(); i++) {
+                row.getAndUpdate(i, count -> count >>> 1);
+            }
+        }
+        rank();
+    }
+
+    /**
+     * Ranks the candidates by their current estimate, drops all but the
+     * {@code capacity} hottest and resets the admission floor.
+     */
+    private synchronized List<K> rank() {
+        List<Map.Entry<K, Long>> ranked = new ArrayList<>(candidates.size());
+        for (K key : candidates) {
+            long estimate = estimate(key);
+            if (estimate == 0) {
+                candidates.remove(key);
+            } else {
+                ranked.add(Map.entry(key, estimate));
+            }
+        }
+        ranked.sort(Map.Entry.<K, Long>comparingByValue(Comparator.reverseOrder()));
+
+        List<K> keys = new ArrayList<>(Math.min(capacity, ranked.size()));
+        for (int i = 0; i < ranked.size(); i++) {
+            if (i < capacity) {
+                keys.add(ranked.get(i).getKey());
+            } else {
+                candidates.remove(ranked.get(i).getKey());
+            }
+        }
+        floor = capacity > 0 && ranked.size() >= capacity ? ranked.get(capacity - 1).getValue() : 0;
+        return keys;
+    }
+
+    private int indexOf(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return h & mask;
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.weatherservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * In-process cache for upstream provider responses.
+ * <p>
+ * Backed by Caffeine, so eviction follows its W-TinyLFU policy once the
+ * configured entry count (or total weight, when a weigher is supplied) is
+ * exceeded. Entries are fresh for {@code ttl} after they were fetched. With a
+ * non-zero {@code maxStale} they are kept for that much longer and served
+ * stale while a background refresh runs (stale-while-revalidate).
+ * <p>
+ * Loads are coalesced per key: concurrent misses and refreshes share one
+ * loader subscription, and the cache is populated inside that shared call, so
+ * a result still lands in the cache when the caller that started it has
+ * already given up (for example on a timeout).
+ * <p>
+ * As a {@link MeterBinder} it publishes Caffeine's hit, miss, eviction and size
+ * meters tagged {@code cache=<name>}, plus in-flight loads, stale hits and
+ * failed background refreshes.
+ */
+public class ResponseCache<K, V> implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCache.class);
+
+    private final String name;
+    private final Duration ttl;
+    private final Duration maxStale;
+    private final Clock clock;
+    private final Cache<K, Entry<V>> cache;
+    private final SingleFlight<K, Cached<V>> loads = new SingleFlight<>();
+    private final AtomicLong staleHits = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+    private final List<BiConsumer<K, V>> loadListeners = new CopyOnWriteArrayList<>();
+
+    public ResponseCache(String name, Duration ttl, long maximumSize) {
+        this(name, ttl, Duration.ZERO, maximumSize, null, Clock.systemUTC());
+    }
+
+    public ResponseCache(String name, Duration ttl, Duration maxStale, long maximumSize) {
+        this(name, ttl, maxStale, maximumSize, null, Clock.systemUTC());
+    }
+
+    public ResponseCache(String name, Duration ttl, Duration maxStale, long maximumWeight,
+                         Weigher<K, V> weigher, Clock clock) {
+        this.name = name;
+        this.ttl = ttl;
+        this.maxStale = maxStale;
+        this.clock = clock;
+
+        Caffeine<K, Entry<V>> builder = Caffeine.newBuilder()
+                .recordStats()
+                .expireAfter(new RetentionExpiry());
+        if (weigher == null) {
+            this.cache = builder.maximumSize(maximumWeight).build();
+        } else {
+            Weigher<K, Entry<V>> entryWeigher = (key, entry) -> weigher.weigh(key, entry.value);
+            this.cache = builder.maximumWeight(maximumWeight).weigher(entryWeigher).build();
+        }
+    }
+
+    /**
+     * Returns the cached value for the key, or subscribes to the loader and
+     * caches whatever it emits. Errors and empty results are not cached.
+     */
+    public Mono<V> get(K key, Function<K, Mono<V>> loader) {
+        return lookup(key, loader).map(Cached::getValue);
+    }
+
+    /**
+     * Like {@link #get}, but also reports when the value was fetched and whether
+     * it is stale. A stale hit returns immediately and triggers a refresh through
+     * the loader.
+     */
+    public Mono<Cached<V>> lookup(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Entry<V> entry = cache.getIfPresent(key);
+            if (entry == null || !isServable(entry)) {
+                return load(key, loader);
+            }
+            if (isFresh(entry)) {
+                return Mono.just(toCached(entry, false));
+            }
+            staleHits.incrementAndGet();
+            load(key, loader).subscribe(
+                    refreshed -> { },
+                    error -> {
+                        refreshFailures.incrementAndGet();
+                        log.warn("Background refresh of {} cache entry {} failed: {}", name, key, error.toString());
+                    });
+            return Mono.just(toCached(entry, true));
+        });
+    }
+
+    /**
+     * Loads the key now and replaces any cached value, regardless of its age.
+     * Shares the in-flight load with concurrent misses for the same key.
+     */
+    public Mono<V> refresh(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> load(key, loader)).map(Cached::getValue);
+    }
+
+    /**
+     * True if the key is absent or stops being fresh within {@code lead}. Does not
+     * count as a read for hit statistics or eviction.
+     */
+    public boolean needsRefresh(K key, Duration lead) {
+        Entry<V> entry = cache.policy().getIfPresentQuietly(key);
+        return entry == null || !entry.fetchedAt.plus(ttl).minus(lead).isAfter(clock.instant());
+    }
+
+    private Mono<Cached<V>> load(K key, Function<K, Mono<V>> loader) {
+        return loads.execute(key, () -> loader.apply(key).map(value -> {
+            Entry<V> entry = new Entry<>(value, clock.instant());
+            cache.put(key, entry);
+            notifyLoaded(key, value);
+            return toCached(entry, false);
+        }));
+    }
+
+    /**
+     * Puts a value fetched at {@code fetchedAt} (e.g. from a snapshot), so its
+     * remaining freshness counts from that time. Skipped if the value is already
+     * past its stale window or the cache holds a newer one. Load listeners are
+     * not notified.
+     */
+    public boolean restore(K key, V value, Instant fetchedAt) {
+        Entry<V> restored = new Entry<>(value, fetchedAt);
+        if (!isServable(restored)) {
+            return false;
+        }
+        return cache.asMap().compute(key, (k, existing) ->
+                existing == null || existing.fetchedAt.isBefore(fetchedAt) ? restored : existing) == restored;
+    }
+
+    /**
+     * Visits every entry that can still be served, without affecting statistics.
+     */
+    public void forEachEntry(EntryVisitor<K, V> visitor) {
+        cache.asMap().forEach((key, entry) -> {
+            if (isServable(entry)) {
+                visitor.visit(key, entry.value, entry.fetchedAt);
+            }
+        });
+    }
+
+    /**
+     * Registers a callback for every value loaded from upstream (misses, refreshes
+     * and prefetches alike). Runs on the loading thread, so it should be cheap.
+     */
+    public void addLoadListener(BiConsumer<K, V> listener) {
+        loadListeners.add(listener);
+    }
+
+    private void notifyLoaded(K key, V value) {
+        for (BiConsumer<K, V> listener : loadListeners) {
+            try {
+                listener.accept(key, value);
+            } catch (RuntimeException e) {
+                log.warn("Load listener on {} cache failed for {}: {}", name, key, e.toString());
+            }
+        }
+    }
+
+    private Cached<V> toCached(Entry<V> entry, boolean stale) {
+        return new Cached<>(entry.value, entry.fetchedAt, entry.fetchedAt.plus(ttl), stale, entry.encodings);
+    }
+
+    private boolean isFresh(Entry<V> entry) {
+        return entry.fetchedAt.plus(ttl).isAfter(clock.instant());
+    }
+
+    private boolean isServable(Entry<V> entry) {
+        return entry.fetchedAt.plus(ttl).plus(maxStale).isAfter(clock.instant());
+    }
+
+    public void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Hit, miss and eviction counters since the cache was created. Stale hits
+     * are counted as hits here; see {@link #staleHitCount()}.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Number of keys currently being loaded from upstream.
+     */
+    public int inFlightCount() {
+        return loads.inFlightCount();
+    }
+
+    public long staleHitCount() {
+        return staleHits.get();
+    }
+
+    public long refreshFailureCount() {
+        return refreshFailures.get();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public Duration getMaxStale() {
+        return maxStale;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+        Gauge.builder("weather.cache.loads.in.flight", loads, SingleFlight::inFlightCount)
+                .tag("cache", name)
+                .description("Keys currently being loaded from upstream")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.stale.hits", staleHits, AtomicLong::get)
+                .tag("cache", name)
+                .description("Hits served stale while a background refresh ran")
+                .register(registry);
+        FunctionCounter.builder("weather.cache.refresh.failures", refreshFailures, AtomicLong::get)
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    /**
+     * Drains pending maintenance work (evictions, expirations); mainly useful in tests.
+     */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    @FunctionalInterface
+    public interface EntryVisitor<K, V> {
+        void visit(K key, V value, Instant fetchedAt);
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final Instant fetchedAt;
+        // Encoded forms of the value, shared by every Cached handed out for this entry
+        private final ConcurrentMap<String, byte[]> encodings = new ConcurrentHashMap<>();
+
+        private Entry(V value, Instant fetchedAt) {
+            this.value = value;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    /**
+     * Keeps each entry for ttl + maxStale measured from its fetch time.
+     */
+    private final class RetentionExpiry implements Expiry<K, Entry<V>> {
+
+        @Override
+        public long expireAfterCreate(K key, Entry<V> entry, long currentTime) {
+            Duration age = Duration.between(entry.fetchedAt, clock.instant());
+            return Math.max(0, ttl.plus(maxStale).minus(age).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(K key, Entry<V> entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.weatherservice.cache;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single upstream subscription.
+ * <p>
+ * The first caller for a key subscribes the upstream {@link Mono}; callers arriving
+ * while it is still running share its result (value or error). The key is removed
+ * as soon as the call terminates, so later callers always trigger a fresh call.
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<V> execute(K key, Supplier<Mono<V>> call) {
+        return Mono.defer(() -> inFlight.computeIfAbsent(key, k -> newFlight(k, call)));
+    }
+
+    private Mono<V> newFlight(K key, Supplier<Mono<V>> call) {
+        AtomicReference<Mono<V>> self = new AtomicReference<>();
+        Mono<V> flight = call.get()
+                // A later caller may already have started a new call under the key
+                .doFinally(signal -> inFlight.remove(key, self.get()))
+                .cache();
+        self.set(flight);
+        return flight;
+    }
+
+    /**
+     * Number of distinct keys with an upstream call currently running.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
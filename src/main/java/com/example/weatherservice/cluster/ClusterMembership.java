@@ -0,0 +1,186 @@
+package com.example.weatherservice.cluster;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Which node owns each location when the service runs as a cluster.
+ * <p>
+ * Members are identified by their base URL. The ring is built from this node
+ * ({@code self}), the static {@code peers} list and, when configured, the
+ * {@code peers-file} (one URL per line, {@code #} for comments), which is re-read
+ * every {@code refresh-interval} if it has changed. With the cluster disabled
+ * every location is owned locally.
+ */
+@Component
+public class ClusterMembership implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final boolean enabled;
+    private final String self;
+    private final Set<String> staticPeers;
+    private final Path peersFile;
+    private final int virtualNodes;
+    private final Duration refreshInterval;
+    private volatile ConsistentHashRing ring;
+    private FileTime peersFileModified;
+    private Disposable refresher;
+
+    @Autowired
+    public ClusterMembership(
+            @Value("${api.weather.cluster.enabled:false}") boolean enabled,
+            @Value("${api.weather.cluster.self:http://localhost:${server.port:8080}}") String self,
+            @Value("${api.weather.cluster.peers:}") List<String> peers,
+            @Value("${api.weather.cluster.peers-file:}") String peersFile,
+            @Value("${api.weather.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${api.weather.cluster.refresh-interval:30s}") Duration refreshInterval
+    ) {
+        this.enabled = enabled;
+        this.self = normalizeMember(self);
+        this.staticPeers = normalizeMembers(peers);
+        this.peersFile = peersFile.isBlank() ? null : Path.of(peersFile);
+        this.virtualNodes = virtualNodes;
+        this.refreshInterval = refreshInterval;
+        if (enabled && this.self.isEmpty()) {
+            throw new IllegalArgumentException("api.weather.cluster.self must be set when the cluster is enabled");
+        }
+        this.ring = buildRing(Set.of());
+    }
+
+    /**
+     * A membership for a single node that owns every location.
+     */
+    public static ClusterMembership standalone() {
+        return new ClusterMembership(false, "", List.of(), "", 1, Duration.ofMinutes(1));
+    }
+
+    /**
+     * Reads the peers file once the bean is constructed, before any request is routed.
+     */
+    @PostConstruct
+    public void loadPeers() {
+        if (enabled) {
+            refresh();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || peersFile == null || refresher != null) {
+            return;
+        }
+        refresher = Flux.interval(refreshInterval, refreshInterval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .subscribe(tick -> refresh());
+        log.info("Cluster of {} members, re-reading {} every {}", ring.nodes().size(), peersFile, refreshInterval);
+    }
+
+    /**
+     * Re-reads the peers file if it changed since the last read and rebuilds the ring.
+     */
+    public synchronized void refresh() {
+        if (peersFile == null) {
+            return;
+        }
+        ConsistentHashRing updated;
+        try {
+            FileTime modified = Files.getLastModifiedTime(peersFile);
+            if (modified.equals(peersFileModified)) {
+                return;
+            }
+            updated = buildRing(readPeersFile());
+            peersFileModified = modified;
+        } catch (IOException e) {
+            log.warn("Cannot read cluster peers file {}, keeping {} members: {}", peersFile, ring.nodes().size(), e.toString());
+            return;
+        }
+        if (!updated.nodes().equals(ring.nodes())) {
+            log.info("Cluster members: {}", updated.nodes());
+        }
+        ring = updated;
+    }
+
+    /**
+     * The base URL of the node that owns the location, or null if it is this node.
+     */
+    public String ownerOf(String location) {
+        if (!enabled) {
+            return null;
+        }
+        String owner = ring.owner(location);
+        return owner == null || owner.equals(self) ? null : owner;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public Set<String> getMembers() {
+        return ring.nodes();
+    }
+
+    private ConsistentHashRing buildRing(Collection<String> filePeers) {
+        Set<String> members = new LinkedHashSet<>();
+        members.add(self);
+        members.addAll(staticPeers);
+        members.addAll(filePeers);
+        return new ConsistentHashRing(members, virtualNodes);
+    }
+
+    private Set<String> readPeersFile() throws IOException {
+        return normalizeMembers(Files.readAllLines(peersFile).stream()
+                .filter(line -> !line.strip().startsWith("#"))
+                .toList());
+    }
+
+    private static Set<String> normalizeMembers(Collection<String> members) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (String member : members) {
+            String url = normalizeMember(member);
+            if (!url.isEmpty()) {
+                normalized.add(url);
+            }
+        }
+        return normalized;
+    }
+
+    private static String normalizeMember(String member) {
+        String url = member.strip();
+        while (url.endsWith("/")) {
+            url = url.substring(0, url.length() - 1);
+        }
+        return url;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+}
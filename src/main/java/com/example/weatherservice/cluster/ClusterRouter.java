@@ -0,0 +1,130 @@
+package com.example.weatherservice.cluster;
+
+import com.example.weatherservice.cache.Cached;
+import com.example.weatherservice.cache.ForecastKey;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Sends lookups for locations owned by another cluster member to that member.
+ * <p>
+ * Values fetched from an owner are kept in a small, short-lived near-cache, so
+ * the full cache and provider traffic for a location live on its owner only.
+ * Lookups for owned locations, lookups forwarded by a peer (marked with
+ * {@link #markForwarded}) and everything in standalone mode go to the local
+ * path. If the owner cannot be reached the local path is used as well.
+ */
+@Component
+public class ClusterRouter implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterRouter.class);
+    private static final String FORWARDED_CONTEXT_KEY = ClusterRouter.class.getName() + ".forwarded";
+
+    private final ClusterMembership membership;
+    private final PeerWeatherClient peerClient;
+    private final ResponseCache<String, WeatherData> nearCurrentWeather;
+    private final ResponseCache<ForecastKey, WeatherForecast> nearForecast;
+    private final AtomicLong peerLookups = new AtomicLong();
+    private final AtomicLong peerFailures = new AtomicLong();
+
+    @Autowired
+    public ClusterRouter(
+            ClusterMembership membership,
+            PeerWeatherClient peerClient,
+            @Value("${api.weather.cluster.near-cache.ttl:10s}") Duration nearCacheTtl,
+            @Value("${api.weather.cluster.near-cache.max-stale:20s}") Duration nearCacheMaxStale,
+            @Value("${api.weather.cluster.near-cache.max-size:1000}") long nearCacheMaxSize
+    ) {
+        this.membership = membership;
+        this.peerClient = peerClient;
+        this.nearCurrentWeather = new ResponseCache<>("near-current", nearCacheTtl, nearCacheMaxStale, nearCacheMaxSize);
+        this.nearForecast = new ResponseCache<>("near-forecast", nearCacheTtl, nearCacheMaxStale, nearCacheMaxSize);
+    }
+
+    /**
+     * A router for a single node, which serves every lookup locally.
+     */
+    public static ClusterRouter standalone() {
+        return new ClusterRouter(ClusterMembership.standalone(), null, Duration.ofSeconds(10), Duration.ZERO, 1);
+    }
+
+    /**
+     * Marks lookups in the subscriber context as forwarded by a peer.
+     */
+    public static Context markForwarded(Context context) {
+        return context.put(FORWARDED_CONTEXT_KEY, Boolean.TRUE);
+    }
+
+    public Mono<Cached<WeatherData>> lookupCurrentWeather(String key, String location,
+                                                          Mono<Cached<WeatherData>> local) {
+        return route(key, key, nearCurrentWeather, owner -> peerClient.getCurrentWeather(owner, location), local);
+    }
+
+    public Mono<Cached<WeatherForecast>> lookupForecast(ForecastKey key, String location,
+                                                        Mono<Cached<WeatherForecast>> local) {
+        return route(key.location(), key, nearForecast,
+                owner -> peerClient.getForecast(owner, location, key.days()), local);
+    }
+
+    private <K, V> Mono<Cached<V>> route(String location, K cacheKey, ResponseCache<K, V> nearCache,
+                                         Function<String, Mono<V>> fetchFromOwner, Mono<Cached<V>> local) {
+        if (!membership.isEnabled()) {
+            return local;
+        }
+        return Mono.deferContextual(context -> {
+            String owner = context.hasKey(FORWARDED_CONTEXT_KEY) ? null : membership.ownerOf(location);
+            if (owner == null) {
+                return local;
+            }
+            return nearCache.lookup(cacheKey, k -> {
+                        peerLookups.incrementAndGet();
+                        return fetchFromOwner.apply(owner);
+                    })
+                    .onErrorResume(error -> {
+                        peerFailures.incrementAndGet();
+                        log.warn("Lookup of {} on owner {} failed, serving locally: {}", location, owner, error.toString());
+                        return local;
+                    });
+        });
+    }
+
+    /**
+     * Number of lookups sent to an owning peer (near-cache misses and refreshes).
+     */
+    public long peerLookupCount() {
+        return peerLookups.get();
+    }
+
+    public long peerFailureCount() {
+        return peerFailures.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        nearCurrentWeather.bindTo(registry);
+        nearForecast.bindTo(registry);
+        FunctionCounter.builder("weather.cluster.peer.lookups", peerLookups, AtomicLong::get)
+                .register(registry);
+        FunctionCounter.builder("weather.cluster.peer.failures", peerFailures, AtomicLong::get)
+                .register(registry);
+    }
+
+    public ClusterMembership getMembership() {
+        return membership;
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.weatherservice.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Immutable consistent-hash ring over node ids.
+ * <p>
+ * Each node is placed at {@code virtualNodes} points on a 64-bit ring, and a key
+ * belongs to the first node at or after its own hash. Adding or removing a node
+ * only moves the keys adjacent to that node's points, roughly {@code 1/n} of
+ * them, and the virtual nodes keep the share per node close to even.
+ */
+public final class ConsistentHashRing {
+
+    private final long[] points;
+    private final String[] owners;
+    private final Set<String> nodes;
+
+    public ConsistentHashRing(Collection<String> nodes, int virtualNodes) {
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = Set.copyOf(new LinkedHashSet<>(nodes));
+
+        List<Point> ring = new ArrayList<>(this.nodes.size() * virtualNodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.add(new Point(hash(node + "#" + i), node));
+            }
+        }
+        // Ties are broken by node id so every instance builds the same ring
+        ring.sort(Comparator.comparingLong(Point::hash).thenComparing(Point::node));
+
+        this.points = new long[ring.size()];
+        this.owners = new String[ring.size()];
+        for (int i = 0; i < ring.size(); i++) {
+            points[i] = ring.get(i).hash();
+            owners[i] = ring.get(i).node();
+        }
+    }
+
+    /**
+     * The node that owns the key, or null if the ring is empty.
+     */
+    public String owner(String key) {
+        if (points.length == 0) {
+            return null;
+        }
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    public Set<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so
+     * that similar ids ("node#1", "node#2") land far apart on the ring.
+     */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private record Point(long hash, String node) {
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.weatherservice.cluster;
+
+import com.example.weatherservice.config.ProviderClientFactory;
+import com.example.weatherservice.config.ProviderProperties;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Fetches weather from the cluster member that owns a location, through that
+ * member's public API. Requests carry {@link #FORWARDED_HEADER} so the owner
+ * answers from its own cache instead of forwarding again.
+ */
+@Component
+public class PeerWeatherClient {
+
+    public static final String FORWARDED_HEADER = "X-Weather-Forwarded-By";
+
+    // Binary JSON is smaller and cheaper to parse than JSON for peer traffic
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private final WebClient webClient;
+    private final String self;
+
+    @Autowired
+    public PeerWeatherClient(ProviderClientFactory clientFactory,
+                             @Qualifier("peerClientProperties") ProviderProperties properties,
+                             ClusterMembership membership) {
+        this.webClient = clientFactory.createWebClient("peers", properties);
+        this.self = membership.getSelf();
+    }
+
+    public Mono<WeatherData> getCurrentWeather(String peer, String location) {
+        return webClient.get()
+                .uri(peer + "/api/weather/current?location={location}", location)
+                .header(FORWARDED_HEADER, self)
+                .accept(SMILE, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(WeatherData.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Mono.empty());
+    }
+
+    public Mono<WeatherForecast> getForecast(String peer, String location, int days) {
+        return webClient.get()
+                .uri(peer + "/api/weather/forecast?location={location}&days={days}", location, days)
+                .header(FORWARDED_HEADER, self)
+                .accept(SMILE, MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(WeatherForecast.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, notFound -> Mono.empty());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.weatherservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ClusterConfig {
+
+    /**
+     * Connection pool and timeouts for calls to other cluster members. There is
+     * no base URL; each call targets the owning peer.
+     */
+    @Bean
+    @ConfigurationProperties("api.weather.cluster.client")
+    public ProviderProperties peerClientProperties() {
+        ProviderProperties properties = new ProviderProperties();
+        properties.setMaxConnections(100);
+        properties.setConnectTimeout(Duration.ofMillis(500));
+        properties.setResponseTimeout(Duration.ofSeconds(1));
+        return properties;
+    }
+}
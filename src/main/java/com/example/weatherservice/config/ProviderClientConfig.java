@@ -0,0 +1,25 @@
+package com.example.weatherservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ProviderClientConfig {
+
+    @Bean
+    @ConfigurationProperties("api.weather.provider1")
+    public ProviderProperties provider1Properties() {
+        ProviderProperties properties = new ProviderProperties();
+        properties.setUrl("https://api.weatherprovider1.com");
+        return properties;
+    }
+
+    @Bean
+    @ConfigurationProperties("api.weather.provider2")
+    public ProviderProperties provider2Properties() {
+        ProviderProperties properties = new ProviderProperties();
+        properties.setUrl("https://api.weatherprovider2.com");
+        return properties;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.weatherservice.config;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds the long-lived upstream clients for each provider.
+ * <p>
+ * Reactive clients get their own Reactor Netty connection pool per provider so
+ * that a slow provider cannot starve the other of connections. Blocking clients
+ * (for the servlet deployment) use the JDK HttpClient and are meant to be called
+ * on {@link #blockingScheduler()}, which runs each call on a virtual thread.
+ * Clients are created once at startup and reused for every request.
+ */
+@Component
+public class ProviderClientFactory implements DisposableBean {
+
+    private final WebClient.Builder webClientBuilder;
+    private final List<ConnectionProvider> connectionProviders = new CopyOnWriteArrayList<>();
+    private final ExecutorService virtualThreadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Scheduler blockingScheduler = Schedulers.fromExecutorService(virtualThreadExecutor, "provider-vt");
+
+    @Autowired
+    public ProviderClientFactory(WebClient.Builder webClientBuilder) {
+        this.webClientBuilder = webClientBuilder;
+    }
+
+    public WebClient createWebClient(String name, ProviderProperties properties) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder(name)
+                .maxConnections(properties.getMaxConnections())
+                .pendingAcquireMaxCount(properties.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.getPendingAcquireTimeout())
+                .maxIdleTime(properties.getMaxIdleTime())
+                .maxLifeTime(properties.getMaxLifeTime())
+                .evictInBackground(properties.getEvictInBackground())
+                // Pool gauges (active, idle, pending) go to Micrometer's global registry
+                .metrics(true)
+                .build();
+        connectionProviders.add(connectionProvider);
+
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.isKeepAlive())
+                .keepAlive(properties.isKeepAlive())
+                .responseTimeout(properties.getResponseTimeout())
+                .metrics(true, ProviderClientFactory::uriTag);
+
+        return webClientBuilder.clone()
+                .baseUrl(properties.getUrl())
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    /**
+     * Path without the query string, so per-location URIs share one meter.
+     */
+    static String uriTag(String uri) {
+        int query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+
+    public RestClient createRestClient(ProviderProperties properties) {
+        java.net.http.HttpClient httpClient = java.net.http.HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .executor(virtualThreadExecutor)
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.getResponseTimeout());
+
+        return RestClient.builder()
+                .baseUrl(properties.getUrl())
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    /**
+     * Scheduler for blocking provider calls; every task runs on its own virtual thread.
+     */
+    public Scheduler blockingScheduler() {
+        return blockingScheduler;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProviders.forEach(ConnectionProvider::dispose);
+        blockingScheduler.dispose();
+    }
+}
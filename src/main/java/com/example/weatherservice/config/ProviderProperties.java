@@ -0,0 +1,188 @@
+package com.example.weatherservice.config;
+
+import java.time.Duration;
+
+/**
+ * Connection settings for one upstream weather provider, bound from
+ * {@code api.weather.provider1.*} / {@code api.weather.provider2.*}.
+ */
+public class ProviderProperties {
+
+    private String url;
+
+    // REACTIVE uses WebClient on Reactor Netty; BLOCKING uses RestClient on virtual threads
+    private ClientMode client = ClientMode.REACTIVE;
+
+    // Serve canned data instead of calling the upstream (local runs and tests)
+    private boolean simulated = false;
+
+    private int maxConnections = 200;
+    private int pendingAcquireMaxCount = 1000;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(5);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictInBackground = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+    private boolean keepAlive = true;
+
+    private final Hedge hedge = new Hedge();
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public ClientMode getClient() {
+        return client;
+    }
+
+    public void setClient(ClientMode client) {
+        this.client = client;
+    }
+
+    public boolean isSimulated() {
+        return simulated;
+    }
+
+    public void setSimulated(boolean simulated) {
+        this.simulated = simulated;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public int getPendingAcquireMaxCount() {
+        return pendingAcquireMaxCount;
+    }
+
+    public void setPendingAcquireMaxCount(int pendingAcquireMaxCount) {
+        this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+    }
+
+    public Duration getPendingAcquireTimeout() {
+        return pendingAcquireTimeout;
+    }
+
+    public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+        this.pendingAcquireTimeout = pendingAcquireTimeout;
+    }
+
+    public Duration getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    public void setMaxIdleTime(Duration maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public Duration getMaxLifeTime() {
+        return maxLifeTime;
+    }
+
+    public void setMaxLifeTime(Duration maxLifeTime) {
+        this.maxLifeTime = maxLifeTime;
+    }
+
+    public Duration getEvictInBackground() {
+        return evictInBackground;
+    }
+
+    public void setEvictInBackground(Duration evictInBackground) {
+        this.evictInBackground = evictInBackground;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getResponseTimeout() {
+        return responseTimeout;
+    }
+
+    public void setResponseTimeout(Duration responseTimeout) {
+        this.responseTimeout = responseTimeout;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    public void setKeepAlive(boolean keepAlive) {
+        this.keepAlive = keepAlive;
+    }
+
+    public enum ClientMode {
+        REACTIVE,
+        BLOCKING
+    }
+
+    public Hedge getHedge() {
+        return hedge;
+    }
+
+    /**
+     * Hedged requests: a duplicate call is sent once the primary has been
+     * outstanding for the given latency percentile (clamped to min/max delay).
+     */
+    public static class Hedge {
+        private boolean enabled = false;
+        private double percentile = 95;
+        private Duration minDelay = Duration.ofMillis(20);
+        private Duration maxDelay = Duration.ofSeconds(1);
+        private double maxRatio = 0.1;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public Duration getMaxDelay() {
+            return maxDelay;
+        }
+
+        public void setMaxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+        }
+
+        public double getMaxRatio() {
+            return maxRatio;
+        }
+
+        public void setMaxRatio(double maxRatio) {
+            this.maxRatio = maxRatio;
+        }
+    }
+}
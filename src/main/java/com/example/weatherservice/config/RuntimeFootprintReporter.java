@@ -0,0 +1,57 @@
+package com.example.weatherservice.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Logs the web server in use and the JVM thread and memory footprint once the
+ * application is ready, so the Reactor Netty and servlet builds can be compared
+ * from their startup logs.
+ */
+@Component
+public class RuntimeFootprintReporter {
+
+    private static final Logger log = LoggerFactory.getLogger(RuntimeFootprintReporter.class);
+    private static final long MIB = 1024 * 1024;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report(ApplicationReadyEvent event) {
+        String server = event.getApplicationContext() instanceof WebServerApplicationContext webContext
+                ? webContext.getWebServer().getClass().getSimpleName()
+                : "none";
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        log.info("Runtime footprint: server={}, liveThreads={}, peakThreads={}, heapUsed={}MiB, nonHeapUsed={}MiB",
+                server,
+                threads.getThreadCount(),
+                threads.getPeakThreadCount(),
+                memory.getHeapMemoryUsage().getUsed() / MIB,
+                memory.getNonHeapMemoryUsage().getUsed() / MIB);
+        log.info("Threads by pool: {}", threadsByPool());
+    }
+
+    /**
+     * Live threads grouped by name with trailing counters stripped,
+     * e.g. "reactor-http-nio-3" and "http-nio-8080-exec-12" become their pool names.
+     */
+    static Map<String, Integer> threadsByPool() {
+        Map<String, Integer> pools = new TreeMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            String pool = thread.getName().replaceAll("[-#]?\\d+$", "");
+            pools.merge(pool, 1, Integer::sum);
+        }
+        return pools;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.weatherservice.config;
+
+import com.example.weatherservice.cache.ForecastKey;
+import com.example.weatherservice.cache.HotKeySketch;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class WeatherCacheConfig {
+
+    @Bean
+    public ResponseCache<String, WeatherData> currentWeatherCache(
+            @Value("${api.weather.cache.current.ttl:5m}") Duration ttl,
+            @Value("${api.weather.cache.current.max-stale:10m}") Duration maxStale,
+            @Value("${api.weather.cache.current.max-size:10000}") long maxSize) {
+        return new ResponseCache<>("current", ttl, maxStale, maxSize);
+    }
+
+    @Bean
+    public ResponseCache<ForecastKey, WeatherForecast> forecastCache(
+            @Value("${api.weather.cache.forecast.ttl:15m}") Duration ttl,
+            @Value("${api.weather.cache.forecast.max-stale:30m}") Duration maxStale,
+            @Value("${api.weather.cache.forecast.max-weight:100000}") long maxWeight) {
+        // Weighted by number of forecast days so long horizons count for more
+        return new ResponseCache<>("forecast", ttl, maxStale, maxWeight, (key, forecast) ->
+                1 + forecast.dayCount(),
+                Clock.systemUTC());
+    }
+
+    /**
+     * Request frequency per normalized location, used to pick what to prefetch.
+     */
+    @Bean
+    public HotKeySketch<String> hotLocations(
+            @Value("${api.weather.prefetch.top-k:100}") int topK,
+            @Value("${api.weather.prefetch.sketch-width:4096}") int width) {
+        return new HotKeySketch<>(topK, width);
+    }
+}
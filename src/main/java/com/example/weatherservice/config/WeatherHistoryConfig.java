@@ -0,0 +1,23 @@
+package com.example.weatherservice.config;
+
+import com.example.weatherservice.history.ObservationStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class WeatherHistoryConfig {
+
+    @Bean(destroyMethod = "close")
+    public ObservationStore observationStore(
+            @Value("${api.weather.history.directory:data/history}") Path directory,
+            @Value("${api.weather.history.retention:30d}") Duration retention,
+            @Value("${api.weather.history.records-per-segment:1000000}") int recordsPerSegment) throws IOException {
+        return new ObservationStore(directory, retention, recordsPerSegment, Clock.systemUTC());
+    }
+}
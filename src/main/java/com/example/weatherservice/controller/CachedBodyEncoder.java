@@ -0,0 +1,102 @@
+package com.example.weatherservice.controller;
+
+import com.example.weatherservice.cache.Cached;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes response bodies once per cache entry. The bytes are memoized on the
+ * {@link Cached} value, so repeated hits skip Jackson (and gzip) entirely.
+ * <p>
+ * The binary formats use copies of the application's JSON mapper, so they
+ * carry the same modules and date handling.
+ */
+class CachedBodyEncoder {
+
+    private static final String GZIP_SUFFIX = "+gzip";
+    private static final String ETAG_PREFIX = "etag:";
+
+    private final Map<ResponseFormat, ObjectMapper> mappers = new EnumMap<>(ResponseFormat.class);
+    private final int gzipMinSize;
+
+    CachedBodyEncoder(ObjectMapper objectMapper, int gzipMinSize) {
+        this.mappers.put(ResponseFormat.JSON, objectMapper);
+        this.mappers.put(ResponseFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        this.mappers.put(ResponseFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
+        this.gzipMinSize = gzipMinSize;
+    }
+
+    byte[] encode(Cached<?> cached, ResponseFormat format) {
+        return cached.encoded(key(format), value -> write(mappers.get(format), value));
+    }
+
+    /**
+     * Gzipped body, or null when it is too small for compression to pay off.
+     */
+    byte[] gzip(Cached<?> cached, ResponseFormat format) {
+        byte[] body = encode(cached, format);
+        if (body.length < gzipMinSize) {
+            return null;
+        }
+        return cached.encoded(key(format) + GZIP_SUFFIX, value -> gzip(body));
+    }
+
+    /**
+     * Strong entity tag for the body: a content hash, so a refresh that
+     * returns the same data (same provider timestamp included) keeps the tag.
+     */
+    String etag(Cached<?> cached, ResponseFormat format) {
+        byte[] body = encode(cached, format);
+        return new String(cached.encoded(ETAG_PREFIX + key(format), value -> contentHash(body)),
+                StandardCharsets.US_ASCII);
+    }
+
+    ObjectMapper mapper(ResponseFormat format) {
+        return mappers.get(format);
+    }
+
+    private static String key(ResponseFormat format) {
+        return format.name().toLowerCase(Locale.ROOT);
+    }
+
+    private static byte[] contentHash(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            return HexFormat.of().formatHex(digest, 0, 8).getBytes(StandardCharsets.US_ASCII);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] write(ObjectMapper mapper, Object value) {
+        try {
+            return mapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
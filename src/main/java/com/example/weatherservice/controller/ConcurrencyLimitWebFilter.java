@@ -0,0 +1,121 @@
+package com.example.weatherservice.controller;
+
+import com.example.weatherservice.resilience.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Applies the adaptive concurrency limit to {@code /api/weather/**}. Requests over
+ * the limit are shed immediately with 503 and Retry-After rather than queued.
+ * The long-lived streaming endpoint is not counted.
+ */
+@Component
+public class ConcurrencyLimitWebFilter implements WebFilter, MeterBinder {
+
+    private static final String LIMITED_PATH = "/api/weather/";
+    private static final String STREAM_PATH = "/api/weather/stream";
+
+    private final boolean enabled;
+    private final Duration retryAfter;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitWebFilter(
+            @Value("${api.weather.limiter.enabled:true}") boolean enabled,
+            @Value("${api.weather.limiter.initial-limit:100}") int initialLimit,
+            @Value("${api.weather.limiter.min-limit:10}") int minLimit,
+            @Value("${api.weather.limiter.max-limit:1000}") int maxLimit,
+            @Value("${api.weather.limiter.retry-after:1s}") Duration retryAfter) {
+        this.enabled = enabled;
+        this.retryAfter = retryAfter;
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!enabled || !path.startsWith(LIMITED_PATH) || path.startsWith(STREAM_PATH)) {
+            return chain.filter(exchange);
+        }
+
+        if (!limiter.tryAcquire()) {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)));
+            return response.setComplete();
+        }
+
+        long started = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnSuccess(done -> onCompleted(exchange, started))
+                .doOnError(error -> release(statusOf(error), started))
+                .doOnCancel(limiter::onIgnore);
+    }
+
+    /**
+     * Only server-side failures say anything about overload: 5xx responses and
+     * timeouts back the limit off, while client errors (and 503s for an
+     * unavailable provider) release the slot without touching the limit.
+     */
+    private void release(HttpStatusCode status, long started) {
+        if (status != null && status.is5xxServerError()) {
+            limiter.onDropped();
+        } else if (status != null && status.is4xxClientError()) {
+            limiter.onIgnore();
+        } else {
+            limiter.onSuccess(System.nanoTime() - started);
+        }
+    }
+
+    private void onCompleted(ServerWebExchange exchange, long started) {
+        if (exchange.getAttribute(ProviderUnavailableHandler.PROVIDER_UNAVAILABLE) != null) {
+            // A provider's breaker or bulkhead failed fast: neither local overload nor a latency sample
+            limiter.onIgnore();
+            return;
+        }
+        release(exchange.getResponse().getStatusCode(), started);
+    }
+
+    private static HttpStatusCode statusOf(Throwable error) {
+        if (error instanceof ErrorResponse errorResponse) {
+            return errorResponse.getStatusCode();
+        }
+        if (error instanceof TimeoutException) {
+            return HttpStatus.GATEWAY_TIMEOUT;
+        }
+        // Anything else is rendered as 500
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("weather.limiter.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("weather.limiter.in.flight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests currently holding a permit")
+                .register(registry);
+        FunctionCounter.builder("weather.limiter.rejected", limiter, AdaptiveConcurrencyLimiter::getRejectedCount)
+                .description("Requests shed with 503")
+                .register(registry);
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.weatherservice.controller;
+
+import com.example.weatherservice.cluster.ClusterRouter;
+import com.example.weatherservice.cluster.PeerWeatherClient;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Marks requests forwarded by another cluster member so they are answered
+ * locally; without it two members with different views of the ring could
+ * forward a lookup back and forth.
+ */
+@Component
+public class ForwardedRequestWebFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!exchange.getRequest().getHeaders().containsKey(PeerWeatherClient.FORWARDED_HEADER)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange).contextWrite(ClusterRouter::markForwarded);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.weatherservice.controller;
+
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+
+/**
+ * Turns fast-fail rejections from a provider's circuit breaker or bulkhead into
+ * 503 responses, so clients back off instead of seeing generic server errors.
+ */
+@RestControllerAdvice
+public class ProviderUnavailableHandler {
+
+    /**
+     * Exchange attribute marking a 503 produced here, so the concurrency limiter
+     * does not mistake an upstream outage for local overload.
+     */
+    public static final String PROVIDER_UNAVAILABLE = ProviderUnavailableHandler.class.getName() + ".providerUnavailable";
+
+    @Value("${api.weather.unavailable.retry-after:5s}")
+    private Duration retryAfter;
+
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<Void> providerUnavailable(ServerWebExchange exchange) {
+        exchange.getAttributes().put(PROVIDER_UNAVAILABLE, Boolean.TRUE);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                // Retry-After is whole seconds; round up so a sub-second delay is not sent as 0
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, (retryAfter.toMillis() + 999) / 1000)))
+                .build();
+    }
+}
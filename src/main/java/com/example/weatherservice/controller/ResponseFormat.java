@@ -0,0 +1,60 @@
+package com.example.weatherservice.controller;
+
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Body formats the weather endpoints can produce, in order of preference when
+ * the client accepts several equally.
+ */
+enum ResponseFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(new MediaType("application", "x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    ResponseFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    MediaType getMediaType() {
+        return mediaType;
+    }
+
+    static List<MediaType> supportedMediaTypes() {
+        List<MediaType> mediaTypes = new ArrayList<>();
+        for (ResponseFormat format : values()) {
+            mediaTypes.add(format.mediaType);
+        }
+        return mediaTypes;
+    }
+
+    /**
+     * Picks the format for an Accept header: highest quality first, then header
+     * order. No Accept header means JSON. Returns null if nothing is acceptable.
+     */
+    static ResponseFormat negotiate(List<MediaType> accept) {
+        if (accept.isEmpty()) {
+            return JSON;
+        }
+
+        List<MediaType> requested = new ArrayList<>(accept);
+        requested.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : requested) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (ResponseFormat format : values()) {
+                if (mediaType.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+}
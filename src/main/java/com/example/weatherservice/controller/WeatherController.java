@@ -1,50 +1,239 @@
 package com.example.weatherservice.controller;
 
+import com.example.weatherservice.cache.Cached;
+import com.example.weatherservice.model.BatchWeatherRequest;
+import com.example.weatherservice.model.BatchWeatherResponse;
 import com.example.weatherservice.model.WeatherData;
-import com.example.weatherservice.model.WeatherForecast;
 import com.example.weatherservice.service.WeatherAggregatorService;
+import com.example.weatherservice.service.WeatherBatchService;
+import com.example.weatherservice.service.WeatherHistoryService;
+import com.example.weatherservice.service.WeatherStreamService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.NotAcceptableStatusException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+
 @RestController
 @RequestMapping("/api/weather")
 public class WeatherController {
 
+    // RFC 7234 warn-code for responses served past their freshness lifetime
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
     private final WeatherAggregatorService weatherService;
+    private final WeatherBatchService batchService;
+    private final WeatherStreamService streamService;
+    private final WeatherHistoryService historyService;
+    private final CachedBodyEncoder bodyEncoder;
+
+    @Value("${api.weather.stream.max-locations:50}")
+    private int maxStreamLocations;
+
+    @Value("${api.weather.stream.heartbeat-interval:15s}")
+    private Duration heartbeatInterval;
+
+    @Value("${api.weather.forecast.max-days:10}")
+    private int maxForecastDays;
 
     @Autowired
-    public WeatherController(WeatherAggregatorService weatherService) {
+    public WeatherController(WeatherAggregatorService weatherService,
+                             WeatherBatchService batchService,
+                             WeatherStreamService streamService,
+                             WeatherHistoryService historyService,
+                             ObjectMapper objectMapper,
+                             @Value("${api.weather.response.gzip-min-size:1024}") int gzipMinSize) {
         this.weatherService = weatherService;
+        this.batchService = batchService;
+        this.streamService = streamService;
+        this.historyService = historyService;
+        this.bodyEncoder = new CachedBodyEncoder(objectMapper, gzipMinSize);
     }
 
     @GetMapping("/current")
-    public Mono<ResponseEntity<WeatherData>> getCurrentWeather(
-            @RequestParam String location) {
-        return weatherService.getCurrentWeather(location)
-                .map(ResponseEntity::ok)
+    public Mono<ResponseEntity<byte[]>> getCurrentWeather(
+            @RequestParam String location,
+            @RequestHeader HttpHeaders headers) {
+        ResponseFormat format = negotiate(headers);
+        return weatherService.lookupCurrentWeather(location)
+                .map(cached -> toResponse(cached, format, headers))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @PostMapping("/current/batch")
+    public Mono<ResponseEntity<BatchWeatherResponse>> getCurrentWeatherBatch(
+            @RequestBody BatchWeatherRequest request) {
+        if (request.getLocations() == null || request.getLocations().isEmpty()
+                || request.getLocations().size() > batchService.getMaxLocations()) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return batchService.getCurrentWeather(request.getLocations())
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<WeatherData>> streamCurrentWeather(
+            @RequestParam List<String> location) {
+        if (location.isEmpty() || location.size() > maxStreamLocations) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + maxStreamLocations + " locations can be streamed"));
+        }
+
+        Flux<ServerSentEvent<WeatherData>> updates = streamService.stream(location)
+                .map(data -> ServerSentEvent.builder(data)
+                        .event("weather")
+                        .id(data.getLocation())
+                        .build());
+        // Comment lines keep idle connections open through proxies
+        Flux<ServerSentEvent<WeatherData>> heartbeats = Flux.interval(heartbeatInterval)
+                .map(tick -> ServerSentEvent.<WeatherData>builder().comment("keep-alive").build());
+        return Flux.merge(updates, heartbeats);
+    }
+
+    /**
+     * Recorded observations for a location; {@code from}/{@code to} are UTC and
+     * default to the last 24 hours.
+     */
+    @GetMapping("/history")
+    public Flux<WeatherData> getHistory(
+            @RequestParam String location,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime start = from != null ? from : end.minusDays(1);
+        if (start.isAfter(end)) {
+            return Flux.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to"));
+        }
+        return historyService.getHistory(location, start, end);
+    }
+
     @GetMapping("/forecast")
-    public Mono<ResponseEntity<WeatherForecast>> getForecast(
+    public Mono<ResponseEntity<byte[]>> getForecast(
             @RequestParam String location,
-            @RequestParam(defaultValue = "5") int days) {
-        return weatherService.getForecast(location, days)
-                .map(ResponseEntity::ok)
+            @RequestParam(defaultValue = "5") int days,
+            @RequestHeader HttpHeaders headers) {
+        ResponseFormat format = negotiate(headers);
+        if (days < 1 || days > maxForecastDays) {
+            return Mono.error(invalidDays());
+        }
+        return weatherService.lookupForecast(location, days)
+                .map(cached -> toResponse(cached, format, headers))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/report")
-    public Mono<ResponseEntity<WeatherAggregatorService.WeatherReport>> getWeatherReport(
+    public Mono<ResponseEntity<byte[]>> getWeatherReport(
             @RequestParam String location,
-            @RequestParam(defaultValue = "5") int days) {
-        return weatherService.getFullWeatherReport(location, days)
-                .map(ResponseEntity::ok)
+            @RequestParam(defaultValue = "5") int days,
+            @RequestHeader HttpHeaders headers) {
+        ResponseFormat format = negotiate(headers);
+        if (days < 1 || days > maxForecastDays) {
+            return Mono.error(invalidDays());
+        }
+        return weatherService.lookupFullWeatherReport(location, days)
+                .map(cached -> toResponse(cached, format, headers))
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
-}
\ No newline at end of file
+
+    /**
+     * Writes the pre-encoded body for the cached value in the negotiated format,
+     * gzipped when the client accepts it and the body is large enough.
+     * <p>
+     * The response carries a strong ETag and a max-age matching the time left
+     * before the entry goes stale. A matching If-None-Match is answered with
+     * 304 by the framework's conditional request handling.
+     */
+    private ResponseEntity<byte[]> toResponse(Cached<?> cached, ResponseFormat format, HttpHeaders headers) {
+        Duration maxAge = cached.isStale() ? Duration.ZERO
+                : Duration.between(Instant.now(), cached.getFreshUntil());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .cacheControl(CacheControl.maxAge(maxAge.isNegative() ? Duration.ZERO : maxAge))
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (cached.isStale()) {
+            response.header(HttpHeaders.WARNING, STALE_WARNING);
+        }
+
+        String etag = bodyEncoder.etag(cached, format);
+        byte[] gzipped = acceptsGzip(headers) ? bodyEncoder.gzip(cached, format) : null;
+        if (gzipped != null) {
+            // Different bytes, so a different strong validator
+            return response.eTag(etag + "-gzip")
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(gzipped);
+        }
+        return response.eTag(etag).body(bodyEncoder.encode(cached, format));
+    }
+
+    private ResponseStatusException invalidDays() {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "days must be between 1 and " + maxForecastDays);
+    }
+
+    private static ResponseFormat negotiate(HttpHeaders headers) {
+        ResponseFormat format = ResponseFormat.negotiate(headers.getAccept());
+        if (format == null) {
+            throw new NotAcceptableStatusException(ResponseFormat.supportedMediaTypes());
+        }
+        return format;
+    }
+
+    /**
+     * Whether Accept-Encoding allows gzip: listed with a non-zero q-value, or
+     * covered by a non-zero {@code *} without being listed itself.
+     */
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        double gzip = -1;
+        double wildcard = -1;
+        for (String value : headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String[] parts = coding.split(";");
+                String name = parts[0].trim().toLowerCase(Locale.ROOT);
+                if (name.equals("gzip") || name.equals("x-gzip")) {
+                    gzip = Math.max(gzip, quality(parts));
+                } else if (name.equals("*")) {
+                    wildcard = Math.max(wildcard, quality(parts));
+                }
+            }
+        }
+        return gzip >= 0 ? gzip > 0 : wildcard > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    // An unreadable weight is treated as a refusal
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.weatherservice.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One day of observations in a memory-mapped file.
+ * <p>
+ * Layout: a 16-byte header (magic, version, record size, record count) followed
+ * by fixed-width records. Each record links to the previous record for the same
+ * location, and the segment keeps the newest record per location on heap, so a
+ * location's records can be walked without scanning the whole file.
+ */
+class ObservationSegment implements AutoCloseable {
+
+    static final int RECORD_SIZE = 48;
+
+    private static final int MAGIC = 0x57484953; // "WHIS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int COUNT_OFFSET = 12;
+
+    // Record field offsets
+    private static final int TIMESTAMP = 0;
+    private static final int LOCATION = 8;
+    private static final int TEMPERATURE = 16;
+    private static final int HUMIDITY = 24;
+    private static final int WIND_SPEED = 32;
+    private static final int PREVIOUS = 40;
+    private static final int CONDITION = 44;
+    private static final int PROVIDER = 46;
+
+    private final int epochDay;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final Map<Long, Integer> newestByLocation = new ConcurrentHashMap<>();
+    private volatile int count;
+
+    private ObservationSegment(int epochDay, Path file, FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.epochDay = epochDay;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Opens the segment file, creating it with room for {@code capacity} records
+     * if it does not exist yet, and rebuilds the per-location index.
+     */
+    static ObservationSegment open(int epochDay, Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean created = channel.size() == 0;
+        long size = created ? HEADER_SIZE + (long) capacity * RECORD_SIZE : channel.size();
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        int actualCapacity = (int) ((size - HEADER_SIZE) / RECORD_SIZE);
+        ObservationSegment segment = new ObservationSegment(epochDay, file, channel, buffer, actualCapacity);
+
+        if (created) {
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putInt(COUNT_OFFSET, 0);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != RECORD_SIZE) {
+            channel.close();
+            throw new IOException("Not an observation segment: " + file);
+        } else {
+            segment.rebuildIndex();
+        }
+        return segment;
+    }
+
+    private void rebuildIndex() {
+        int stored = Math.min(buffer.getInt(COUNT_OFFSET), capacity);
+        for (int record = 0; record < stored; record++) {
+            newestByLocation.put(buffer.getLong(offset(record) + LOCATION), record);
+        }
+        count = stored;
+    }
+
+    /**
+     * Appends a record; returns false if the segment is full.
+     */
+    synchronized boolean append(long locationHash, long timestampMillis, double temperature, double humidity,
+                                double windSpeed, short condition, short provider) {
+        int record = count;
+        if (record >= capacity) {
+            return false;
+        }
+
+        int offset = offset(record);
+        buffer.putLong(offset + TIMESTAMP, timestampMillis)
+                .putLong(offset + LOCATION, locationHash)
+                .putDouble(offset + TEMPERATURE, temperature)
+                .putDouble(offset + HUMIDITY, humidity)
+                .putDouble(offset + WIND_SPEED, windSpeed)
+                .putInt(offset + PREVIOUS, newestByLocation.getOrDefault(locationHash, -1))
+                .putShort(offset + CONDITION, condition)
+                .putShort(offset + PROVIDER, provider);
+        buffer.putInt(COUNT_OFFSET, record + 1);
+        // Publish the record before it becomes reachable through the index
+        count = record + 1;
+        newestByLocation.put(locationHash, record);
+        return true;
+    }
+
+    /**
+     * Visits the location's records with a timestamp in [from, to], newest first.
+     * Reads straight from the mapped file; nothing is copied until the visitor
+     * decides to keep a record.
+     */
+    void scan(long locationHash, long fromMillis, long toMillis, RecordVisitor visitor) {
+        Integer newest = newestByLocation.get(locationHash);
+        ByteBuffer view = buffer.duplicate();
+        for (int record = newest == null ? -1 : newest; record >= 0; ) {
+            int offset = offset(record);
+            long timestamp = view.getLong(offset + TIMESTAMP);
+            if (timestamp >= fromMillis && timestamp <= toMillis) {
+                boolean more = visitor.visit(timestamp,
+                        view.getDouble(offset + TEMPERATURE),
+                        view.getDouble(offset + HUMIDITY),
+                        view.getDouble(offset + WIND_SPEED),
+                        view.getShort(offset + CONDITION),
+                        view.getShort(offset + PROVIDER));
+                if (!more) {
+                    return;
+                }
+            }
+            record = view.getInt(offset + PREVIOUS);
+        }
+    }
+
+    private static int offset(int record) {
+        return HEADER_SIZE + record * RECORD_SIZE;
+    }
+
+    int getEpochDay() {
+        return epochDay;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    int count() {
+        return count;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released when the buffer is garbage collected
+        channel.close();
+    }
+
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * Returns false to stop the scan.
+         */
+        boolean visit(long timestampMillis, double temperature, double humidity, double windSpeed,
+                      short condition, short provider);
+    }
+}
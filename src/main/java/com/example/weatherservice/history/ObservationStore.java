@@ -0,0 +1,214 @@
+package com.example.weatherservice.history;
+
+import com.example.weatherservice.model.WeatherData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Rolling history of weather observations, kept in memory-mapped files outside
+ * the Java heap.
+ * <p>
+ * Observations are appended to one segment file per UTC day, by the day they
+ * were recorded. Segments older than the retention period are deleted when a
+ * new day's segment is opened. Queries walk a location's record chain in each
+ * segment that can overlap the requested range.
+ */
+public class ObservationStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ObservationStore.class);
+
+    private static final String SEGMENT_PREFIX = "obs-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int MAX_CAPACITY = (Integer.MAX_VALUE - 16) / ObservationSegment.RECORD_SIZE;
+
+    private final Path directory;
+    private final int retentionDays;
+    private final int recordsPerSegment;
+    private final Clock clock;
+    private final StringDictionary dictionary;
+    private final ConcurrentSkipListMap<Integer, ObservationSegment> segments = new ConcurrentSkipListMap<>();
+    private final AtomicLong appended = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public ObservationStore(Path directory, Duration retention, int recordsPerSegment, Clock clock) throws IOException {
+        if (recordsPerSegment <= 0 || recordsPerSegment > MAX_CAPACITY) {
+            throw new IllegalArgumentException("records per segment must be between 1 and " + MAX_CAPACITY);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.retentionDays = (int) Math.max(1, retention.toDays());
+        this.recordsPerSegment = recordsPerSegment;
+        this.clock = clock;
+        this.dictionary = new StringDictionary(directory.resolve("dictionary.txt"));
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                openExisting(file);
+            }
+        }
+        expireOldSegments(today());
+    }
+
+    private void openExisting(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            int epochDay = Integer.parseInt(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+            segments.put(epochDay, ObservationSegment.open(epochDay, file, recordsPerSegment));
+        } catch (NumberFormatException | IOException e) {
+            log.warn("Skipping unreadable history segment {}: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * Records an observation for a (normalized) location.
+     */
+    public void append(String location, WeatherData observation) {
+        ObservationSegment segment = currentSegment();
+        LocalDateTime timestamp = observation.getTimestamp();
+        long timestampMillis = timestamp == null
+                ? clock.millis()
+                : timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+        boolean stored = segment.append(locationHash(location), timestampMillis,
+                observation.getTemperature(), observation.getHumidity(), observation.getWindSpeed(),
+                dictionary.code(observation.getCondition()), dictionary.code(observation.getProvider()));
+        if (stored) {
+            appended.incrementAndGet();
+        } else if (dropped.incrementAndGet() % 10_000 == 1) {
+            log.warn("History segment {} is full ({} records); dropping observations",
+                    segment.getFile(), recordsPerSegment);
+        }
+    }
+
+    /**
+     * Observations for a (normalized) location with a timestamp in [from, to],
+     * oldest first, at most {@code limit} of them (the most recent ones).
+     */
+    public List<WeatherData> range(String location, LocalDateTime from, LocalDateTime to, int limit) {
+        return range(location, location, from, to, limit);
+    }
+
+    /**
+     * As {@link #range(String, LocalDateTime, LocalDateTime, int)}, with
+     * {@code displayName} as the location of the returned observations.
+     */
+    public List<WeatherData> range(String location, String displayName, LocalDateTime from, LocalDateTime to,
+                                   int limit) {
+        long fromMillis = from.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long toMillis = to.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long hash = locationHash(location);
+
+        // Observation and recording time can differ a little, so look one segment either side
+        int firstDay = (int) from.toLocalDate().toEpochDay() - 1;
+        int lastDay = (int) to.toLocalDate().toEpochDay() + 1;
+        List<WeatherData> observations = new ArrayList<>();
+        for (ObservationSegment segment : segments.subMap(firstDay, true, lastDay, true).descendingMap().values()) {
+            segment.scan(hash, fromMillis, toMillis, (timestamp, temperature, humidity, windSpeed, condition, provider) -> {
+                observations.add(new WeatherData(displayName, temperature, humidity, windSpeed,
+                        dictionary.value(condition),
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(timestamp), ZoneOffset.UTC),
+                        dictionary.value(provider)));
+                return observations.size() < limit;
+            });
+            if (observations.size() >= limit) {
+                break;
+            }
+        }
+
+        // Collected newest first by recording order; observation times are only roughly ordered
+        observations.sort(Comparator.comparing(WeatherData::getTimestamp));
+        return observations;
+    }
+
+    private ObservationSegment currentSegment() {
+        int today = today();
+        ObservationSegment segment = segments.get(today);
+        if (segment != null) {
+            return segment;
+        }
+
+        synchronized (this) {
+            segment = segments.get(today);
+            if (segment == null) {
+                Path file = directory.resolve(SEGMENT_PREFIX + today + SEGMENT_SUFFIX);
+                try {
+                    segment = ObservationSegment.open(today, file, recordsPerSegment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                segments.put(today, segment);
+                expireOldSegments(today);
+            }
+            return segment;
+        }
+    }
+
+    private void expireOldSegments(int today) {
+        Map<Integer, ObservationSegment> expired = segments.headMap(today - retentionDays);
+        for (ObservationSegment segment : new ArrayList<>(expired.values())) {
+            segments.remove(segment.getEpochDay());
+            try {
+                segment.close();
+                Files.deleteIfExists(segment.getFile());
+                log.info("Deleted expired history segment {}", segment.getFile());
+            } catch (IOException e) {
+                log.warn("Could not delete history segment {}: {}", segment.getFile(), e.toString());
+            }
+        }
+    }
+
+    private int today() {
+        return (int) LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * 64-bit FNV-1a of the location; records store this instead of the name.
+     */
+    static long locationHash(String location) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : location.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    public long appendedCount() {
+        return appended.get();
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ObservationSegment segment : segments.values()) {
+            segment.force();
+            segment.close();
+        }
+        segments.clear();
+        dictionary.close();
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.weatherservice.history;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only table of strings (conditions, providers) referenced by code from
+ * observation records. Persisted one value per line, so codes stay stable
+ * across restarts.
+ */
+class StringDictionary implements AutoCloseable {
+
+    static final short NONE = -1;
+
+    private final List<String> values = new ArrayList<>();
+    private final Map<String, Short> codes = new HashMap<>();
+    private final BufferedWriter writer;
+
+    StringDictionary(Path file) throws IOException {
+        if (Files.exists(file)) {
+            for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+                codes.put(line, (short) values.size());
+                values.add(line);
+            }
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    synchronized short code(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        String line = value.replace('\n', ' ').replace('\r', ' ');
+        Short code = codes.get(line);
+        if (code != null) {
+            return code;
+        }
+        if (values.size() > Short.MAX_VALUE) {
+            return NONE;
+        }
+        try {
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        code = (short) values.size();
+        codes.put(line, code);
+        values.add(line);
+        return code;
+    }
+
+    synchronized String value(short code) {
+        return code < 0 || code >= values.size() ? null : values.get(code);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.weatherservice.location;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * In-memory index of known places, loaded from a CSV file with the columns
+ * {@code name,country,latitude,longitude,aliases}. Aliases are separated by
+ * {@code |}; lines starting with {@code #} are ignored. When several places share
+ * a name, the one listed first is the default.
+ */
+final class Gazetteer {
+
+    // Common qualifiers that are not ISO 3166 alpha-2 codes
+    private static final Map<String, String> COUNTRY_ALIASES = Map.of(
+            "uk", "gb",
+            "england", "gb",
+            "united kingdom", "gb",
+            "usa", "us",
+            "united states", "us");
+
+    private final List<Place> places;
+    private final Map<String, List<Place>> byName;
+
+    private Gazetteer(List<Place> places) {
+        this.places = Collections.unmodifiableList(places);
+        Map<String, List<Place>> index = new HashMap<>();
+        for (Place place : places) {
+            index.computeIfAbsent(LocationResolver.normalize(place.name()), k -> new ArrayList<>(1)).add(place);
+            for (String alias : place.aliases()) {
+                index.computeIfAbsent(LocationResolver.normalize(alias), k -> new ArrayList<>(1)).add(place);
+            }
+        }
+        this.byName = index;
+    }
+
+    static Gazetteer read(Reader source) throws IOException {
+        List<Place> places = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split(",", -1);
+            if (columns.length < 4) {
+                throw new IOException("Gazetteer line " + lineNumber + " has fewer than 4 columns");
+            }
+            try {
+                places.add(new Place(
+                        columns[0].strip(),
+                        columns[1].strip().toLowerCase(Locale.ROOT),
+                        Double.parseDouble(columns[2].strip()),
+                        Double.parseDouble(columns[3].strip()),
+                        columns.length > 4 && !columns[4].isBlank()
+                                ? List.of(columns[4].strip().split("\\s*\\|\\s*"))
+                                : List.of()));
+            } catch (NumberFormatException e) {
+                throw new IOException("Gazetteer line " + lineNumber + " has invalid coordinates", e);
+            }
+        }
+        return new Gazetteer(places);
+    }
+
+    /**
+     * The place with this name (or alias), in the given country if a qualifier
+     * such as "uk" or "fr" is given; null if there is none.
+     */
+    Place find(String name, String countryQualifier) {
+        List<Place> candidates = byName.get(LocationResolver.normalize(name));
+        if (candidates == null) {
+            return null;
+        }
+        if (countryQualifier == null) {
+            return candidates.get(0);
+        }
+        String qualifier = LocationResolver.normalize(countryQualifier);
+        String country = COUNTRY_ALIASES.getOrDefault(qualifier, qualifier);
+        for (Place place : candidates) {
+            if (place.country().equals(country)) {
+                return place;
+            }
+        }
+        return null;
+    }
+
+    List<Place> places() {
+        return places;
+    }
+
+    record Place(String name, String country, double latitude, double longitude, List<String> aliases) {
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.weatherservice.location;
+
+import java.util.Arrays;
+
+/**
+ * Geohash encoding (base-32, interleaved longitude/latitude bits). Each extra
+ * character narrows the cell by a factor of 32; at precision 5 a cell is about
+ * 4.9 km x 4.9 km at the equator, at precision 6 about 1.2 km x 0.6 km.
+ */
+final class Geohash {
+
+    static final int MAX_PRECISION = 12;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+    private static final int[] DECODE = new int[128];
+
+    static {
+        Arrays.fill(DECODE, -1);
+        for (int i = 0; i < BASE32.length; i++) {
+            DECODE[BASE32[i]] = i;
+        }
+    }
+
+    private Geohash() {
+    }
+
+    static String encode(double latitude, double longitude, int precision) {
+        if (precision < 1 || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + MAX_PRECISION);
+        }
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        char[] hash = new char[precision];
+        boolean evenBit = true;
+        for (int i = 0; i < precision; i++) {
+            int index = 0;
+            for (int bit = 0; bit < 5; bit++) {
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (longitude >= mid) {
+                        index = (index << 1) | 1;
+                        minLon = mid;
+                    } else {
+                        index <<= 1;
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (latitude >= mid) {
+                        index = (index << 1) | 1;
+                        minLat = mid;
+                    } else {
+                        index <<= 1;
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+            hash[i] = BASE32[index];
+        }
+        return new String(hash);
+    }
+
+    /**
+     * The centre of the cell as {latitude, longitude}.
+     */
+    static double[] decodeCenter(String hash) {
+        double minLat = -90, maxLat = 90;
+        double minLon = -180, maxLon = 180;
+        boolean evenBit = true;
+        for (int i = 0; i < hash.length(); i++) {
+            char c = hash.charAt(i);
+            int index = c < DECODE.length ? DECODE[c] : -1;
+            if (index < 0) {
+                throw new IllegalArgumentException("Not a geohash: " + hash);
+            }
+            for (int bit = 4; bit >= 0; bit--) {
+                boolean set = ((index >> bit) & 1) == 1;
+                if (evenBit) {
+                    double mid = (minLon + maxLon) / 2;
+                    if (set) {
+                        minLon = mid;
+                    } else {
+                        maxLon = mid;
+                    }
+                } else {
+                    double mid = (minLat + maxLat) / 2;
+                    if (set) {
+                        minLat = mid;
+                    } else {
+                        maxLat = mid;
+                    }
+                }
+                evenBit = !evenBit;
+            }
+        }
+        return new double[]{(minLat + maxLat) / 2, (minLon + maxLon) / 2};
+    }
+}
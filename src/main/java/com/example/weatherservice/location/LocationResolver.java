@@ -0,0 +1,135 @@
+package com.example.weatherservice.location;
+
+import com.example.weatherservice.location.Gazetteer.Place;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the location strings clients send to cache keys, so that different
+ * spellings of one place share a cache entry and an upstream call.
+ * <p>
+ * Place names found in the gazetteer ("London", "london, uk", "NYC") and
+ * "latitude,longitude" pairs both resolve to the geohash cell containing them,
+ * at the configured precision; the key is {@code gh:<cell>}. Coordinates in the
+ * same cell therefore share an entry with each other and with any known place
+ * in that cell. Providers are queried with the place's name when the cell
+ * contains one, and with the cell centre otherwise. Names not in the
+ * gazetteer fall back to their normalized spelling.
+ */
+@Component
+public class LocationResolver {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationResolver.class);
+
+    static final String GEOHASH_PREFIX = "gh:";
+
+    private static final Pattern COORDINATES = Pattern.compile(
+            "\\s*([+-]?\\d{1,2}(?:\\.\\d+)?)\\s*,\\s*([+-]?\\d{1,3}(?:\\.\\d+)?)\\s*");
+
+    private final Gazetteer gazetteer;
+    private final int precision;
+    // Known place per cell, so coordinates near a place are queried by its name
+    private final Map<String, Place> placesByCell = new HashMap<>();
+
+    @Autowired
+    public LocationResolver(
+            @Value("${api.weather.location.gazetteer:classpath:gazetteer.csv}") Resource gazetteer,
+            @Value("${api.weather.location.geohash-precision:5}") int precision
+    ) {
+        if (precision < 1 || precision > Geohash.MAX_PRECISION) {
+            throw new IllegalArgumentException("Geohash precision must be between 1 and " + Geohash.MAX_PRECISION);
+        }
+        try (Reader reader = new InputStreamReader(gazetteer.getInputStream(), StandardCharsets.UTF_8)) {
+            this.gazetteer = Gazetteer.read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load gazetteer from " + gazetteer, e);
+        }
+        this.precision = precision;
+        for (Place place : this.gazetteer.places()) {
+            placesByCell.putIfAbsent(Geohash.encode(place.latitude(), place.longitude(), precision), place);
+        }
+        log.info("Loaded {} places from {}; geohash precision {}", this.gazetteer.places().size(), gazetteer, precision);
+    }
+
+    /**
+     * A resolver over the bundled gazetteer.
+     */
+    public static LocationResolver withDefaultGazetteer(int precision) {
+        return new LocationResolver(new ClassPathResource("gazetteer.csv"), precision);
+    }
+
+    public ResolvedLocation resolve(String location) {
+        Matcher coordinates = COORDINATES.matcher(location);
+        if (coordinates.matches()) {
+            double latitude = Double.parseDouble(coordinates.group(1));
+            double longitude = Double.parseDouble(coordinates.group(2));
+            if (Math.abs(latitude) <= 90 && Math.abs(longitude) <= 180) {
+                String key = GEOHASH_PREFIX + Geohash.encode(latitude, longitude, precision);
+                return new ResolvedLocation(key, upstreamQuery(key));
+            }
+        }
+
+        Place place = findPlace(location);
+        if (place != null) {
+            String key = GEOHASH_PREFIX + Geohash.encode(place.latitude(), place.longitude(), precision);
+            return new ResolvedLocation(key, upstreamQuery(key));
+        }
+        return new ResolvedLocation(normalize(location), location.strip());
+    }
+
+    /**
+     * What to send to the providers for a key returned by {@link #resolve}.
+     */
+    public String upstreamQuery(String key) {
+        if (!key.startsWith(GEOHASH_PREFIX)) {
+            return key;
+        }
+        String cell = key.substring(GEOHASH_PREFIX.length());
+        Place place = placesByCell.get(cell);
+        if (place != null) {
+            return place.name();
+        }
+        double[] center = Geohash.decodeCenter(cell);
+        return String.format(Locale.ROOT, "%.4f,%.4f", center[0], center[1]);
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    private Place findPlace(String location) {
+        Place place = gazetteer.find(location, null);
+        if (place != null) {
+            return place;
+        }
+        // "London,UK" / "Paris, FR": a name followed by a country qualifier
+        int comma = location.lastIndexOf(',');
+        if (comma > 0) {
+            return gazetteer.find(location.substring(0, comma), location.substring(comma + 1));
+        }
+        return null;
+    }
+
+    /**
+     * Trimmed, lower-cased, inner whitespace collapsed.
+     */
+    public static String normalize(String location) {
+        return location.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
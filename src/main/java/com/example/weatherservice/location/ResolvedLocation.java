@@ -0,0 +1,8 @@
+package com.example.weatherservice.location;
+
+/**
+ * A location as the service handles it: {@code key} identifies its cache
+ * entries, and {@code query} is what is sent to the providers for it.
+ */
+public record ResolvedLocation(String key, String query) {
+}
@@ -0,0 +1,53 @@
+package com.example.weatherservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Times a {@link Mono} from subscription to its terminal signal, tagged with an
+ * {@code outcome}: derived from the value when there is one, otherwise
+ * {@code empty}, {@code error} or {@code cancelled}.
+ * <p>
+ * Percentiles and histogram buckets are not set here; they come from the
+ * {@code management.metrics.distribution.*} properties, so they can be tuned
+ * per meter name without a code change.
+ */
+public final class MonoTimer {
+
+    public static final String SUCCESS = "success";
+
+    private MonoTimer() {
+    }
+
+    public static <T> Mono<T> time(Mono<T> source, MeterRegistry registry, String name, Tags tags) {
+        return time(source, registry, name, tags, value -> SUCCESS);
+    }
+
+    public static <T> Mono<T> time(Mono<T> source, MeterRegistry registry, String name, Tags tags,
+                                   Function<? super T, String> outcome) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(registry);
+            AtomicReference<String> result = new AtomicReference<>();
+            return source
+                    .doOnNext(value -> result.set(outcome.apply(value)))
+                    .doOnError(error -> result.set("error"))
+                    .doFinally(signal -> sample.stop(Timer.builder(name)
+                            .tags(tags)
+                            .tag("outcome", outcome(signal, result.get()))
+                            .register(registry)));
+        });
+    }
+
+    private static String outcome(SignalType signal, String result) {
+        if (result != null) {
+            return result;
+        }
+        return signal == SignalType.CANCEL ? "cancelled" : "empty";
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.weatherservice.model;
+
+import java.util.List;
+
+public class BatchWeatherRequest {
+    private List<String> locations;
+
+    public BatchWeatherRequest() {
+    }
+
+    public BatchWeatherRequest(List<String> locations) {
+        this.locations = locations;
+    }
+
+    public List<String> getLocations() {
+        return locations;
+    }
+
+    public void setLocations(List<String> locations) {
+        this.locations = locations;
+    }
+}
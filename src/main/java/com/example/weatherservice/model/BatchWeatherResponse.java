@@ -0,0 +1,22 @@
+package com.example.weatherservice.model;
+
+import java.util.List;
+
+public class BatchWeatherResponse {
+    private List<LocationWeatherResult> results;
+
+    public BatchWeatherResponse() {
+    }
+
+    public BatchWeatherResponse(List<LocationWeatherResult> results) {
+        this.results = results;
+    }
+
+    public List<LocationWeatherResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<LocationWeatherResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.weatherservice.model;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonical instances for values that repeat across many model objects, such as
+ * condition and provider names or forecast dates. Deserialized responses then
+ * share one instance per distinct value instead of holding their own copy.
+ * <p>
+ * The tables are bounded; once full, new values are returned as-is.
+ */
+final class Canonical {
+
+    private static final int MAX_STRINGS = 4096;
+    private static final int MAX_DATES = 1024;
+
+    private static final ConcurrentMap<String, String> STRINGS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Long, LocalDate> DATES = new ConcurrentHashMap<>();
+
+    private Canonical() {
+    }
+
+    static String string(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = STRINGS.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (STRINGS.size() >= MAX_STRINGS) {
+            return value;
+        }
+        canonical = STRINGS.putIfAbsent(value, value);
+        return canonical == null ? value : canonical;
+    }
+
+    static LocalDate date(LocalDate value) {
+        if (value == null) {
+            return null;
+        }
+        LocalDate canonical = DATES.get(value.toEpochDay());
+        if (canonical != null) {
+            return canonical;
+        }
+        if (DATES.size() >= MAX_DATES) {
+            // Dates move forward, so old ones stop being useful; start over
+            DATES.clear();
+        }
+        canonical = DATES.putIfAbsent(value.toEpochDay(), value);
+        return canonical == null ? value : canonical;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.weatherservice.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome for one location in a batch lookup: either the weather or an error message.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class LocationWeatherResult {
+    private String location;
+    private WeatherData weather;
+    private String error;
+
+    public LocationWeatherResult() {
+    }
+
+    public LocationWeatherResult(String location, WeatherData weather, String error) {
+        this.location = location;
+        this.weather = weather;
+        this.error = error;
+    }
+
+    public static LocationWeatherResult success(String location, WeatherData weather) {
+        return new LocationWeatherResult(location, weather, null);
+    }
+
+    public static LocationWeatherResult failure(String location, String error) {
+        return new LocationWeatherResult(location, null, error);
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public WeatherData getWeather() {
+        return weather;
+    }
+
+    public void setWeather(WeatherData weather) {
+        this.weather = weather;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
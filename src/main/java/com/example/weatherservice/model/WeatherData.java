@@ -1,87 +1,88 @@
 package com.example.weatherservice.model;
 
-import java.time.LocalDateTime;
-
-public class WeatherData {
-    private String location;
-    private double temperature;
-    private double humidity;
-    private double windSpeed;
-    private String condition;
-    private LocalDateTime timestamp;
-    private String provider;
-
-    // Default constructor
-    public WeatherData() {
-    }
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
-    // Constructor with fields
-    public WeatherData(String location, double temperature, double humidity,
-                       double windSpeed, String condition, LocalDateTime timestamp,
-                       String provider) {
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Current conditions at a location, observed at {@code timestamp} (UTC). Immutable,
+ * so instances can be cached and shared between requests without copying.
+ */
+public final class WeatherData {
+    private final String location;
+    private final double temperature;
+    private final double humidity;
+    private final double windSpeed;
+    private final String condition;
+    private final LocalDateTime timestamp;
+    private final String provider;
+
+    @JsonCreator
+    public WeatherData(@JsonProperty("location") String location,
+                       @JsonProperty("temperature") double temperature,
+                       @JsonProperty("humidity") double humidity,
+                       @JsonProperty("windSpeed") double windSpeed,
+                       @JsonProperty("condition") String condition,
+                       @JsonProperty("timestamp") LocalDateTime timestamp,
+                       @JsonProperty("provider") String provider) {
         this.location = location;
         this.temperature = temperature;
         this.humidity = humidity;
         this.windSpeed = windSpeed;
-        this.condition = condition;
+        this.condition = Canonical.string(condition);
         this.timestamp = timestamp;
-        this.provider = provider;
+        this.provider = Canonical.string(provider);
     }
 
-    // Getters and Setters
     public String getLocation() {
         return location;
     }
 
-    public void setLocation(String location) {
-        this.location = location;
-    }
-
     public double getTemperature() {
         return temperature;
     }
 
-    public void setTemperature(double temperature) {
-        this.temperature = temperature;
-    }
-
     public double getHumidity() {
         return humidity;
     }
 
-    public void setHumidity(double humidity) {
-        this.humidity = humidity;
-    }
-
     public double getWindSpeed() {
         return windSpeed;
     }
 
-    public void setWindSpeed(double windSpeed) {
-        this.windSpeed = windSpeed;
-    }
-
     public String getCondition() {
         return condition;
     }
 
-    public void setCondition(String condition) {
-        this.condition = condition;
-    }
-
     public LocalDateTime getTimestamp() {
         return timestamp;
     }
 
-    public void setTimestamp(LocalDateTime timestamp) {
-        this.timestamp = timestamp;
-    }
-
     public String getProvider() {
         return provider;
     }
 
-    public void setProvider(String provider) {
-        this.provider = provider;
-    }
-}
\ No newline at end of file
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WeatherData other)) {
+            return false;
+        }
+        return Double.compare(temperature, other.temperature) == 0
+                && Double.compare(humidity, other.humidity) == 0
+                && Double.compare(windSpeed, other.windSpeed) == 0
+                && Objects.equals(location, other.location)
+                && Objects.equals(condition, other.condition)
+                && Objects.equals(timestamp, other.timestamp)
+                && Objects.equals(provider, other.provider);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(location, temperature, humidity, windSpeed, condition, timestamp, provider);
+    }
+}
@@ -1,62 +1,209 @@
 package com.example.weatherservice.model;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Daily forecast for a location. Immutable, so instances can be cached and
+ * shared between requests without copying.
+ * <p>
+ * Days are stored column by column: primitive arrays for the numeric fields,
+ * an epoch-day start for the dates and a byte code per day into a small table
+ * of condition names. {@link #getDailyForecasts()} is a read-only view that
+ * builds {@link DailyForecast} objects on access, so the JSON shape is unchanged.
+ */
+public final class WeatherForecast {
+
+    private static final int MAX_CONDITIONS = 256;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final String location;
+    private final String provider;
+    private final int startEpochDay;
+    // Only set when the dates are not consecutive days from startEpochDay
+    private final int[] epochDays;
+    private final double[] highTemps;
+    private final double[] lowTemps;
+    private final double[] precipitationChances;
+    private final byte[] conditionCodes;
+    private final String[] conditions;
+    private final List<DailyForecast> dailyForecastView = new DailyForecastView();
+
+    @JsonCreator
+    public WeatherForecast(@JsonProperty("location") String location,
+                           @JsonProperty("dailyForecasts") List<DailyForecast> dailyForecasts,
+                           @JsonProperty("provider") String provider) {
+        List<DailyForecast> days = dailyForecasts == null ? List.of() : dailyForecasts;
+        int size = days.size();
+
+        this.location = location;
+        this.provider = Canonical.string(provider);
+        this.highTemps = new double[size];
+        this.lowTemps = new double[size];
+        this.precipitationChances = new double[size];
+        this.conditionCodes = new byte[size];
+
+        int[] dates = new int[size];
+        boolean consecutive = true;
+        List<String> conditionTable = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            DailyForecast day = Objects.requireNonNull(days.get(i), "daily forecast");
+            dates[i] = day.getDate() == null ? NO_DATE : Math.toIntExact(day.getDate().toEpochDay());
+            consecutive &= day.getDate() != null && (i == 0 || dates[i] == dates[i - 1] + 1);
+            highTemps[i] = day.getHighTemp();
+            lowTemps[i] = day.getLowTemp();
+            precipitationChances[i] = day.getPrecipitationChance();
+            conditionCodes[i] = conditionCode(conditionTable, day.getCondition());
+        }
 
-public class WeatherForecast {
-    private String location;
-    private List<DailyForecast> dailyForecasts;
-    private String provider;
+        this.startEpochDay = size == 0 ? 0 : dates[0];
+        this.epochDays = consecutive ? null : dates;
+        this.conditions = conditionTable.toArray(new String[0]);
+    }
 
-    public WeatherForecast() {
+    private WeatherForecast(WeatherForecast source, int days) {
+        this.location = source.location;
+        this.provider = source.provider;
+        this.startEpochDay = source.startEpochDay;
+        this.epochDays = source.epochDays == null ? null : Arrays.copyOf(source.epochDays, days);
+        this.highTemps = Arrays.copyOf(source.highTemps, days);
+        this.lowTemps = Arrays.copyOf(source.lowTemps, days);
+        this.precipitationChances = Arrays.copyOf(source.precipitationChances, days);
+        this.conditionCodes = Arrays.copyOf(source.conditionCodes, days);
+        // Never modified, so the slice can share the source's table
+        this.conditions = source.conditions;
     }
 
-    public WeatherForecast(String location, List<DailyForecast> dailyForecasts, String provider) {
-        this.location = location;
-        this.dailyForecasts = dailyForecasts;
-        this.provider = provider;
+    private static byte conditionCode(List<String> table, String condition) {
+        int code = table.indexOf(condition);
+        if (code < 0) {
+            if (table.size() == MAX_CONDITIONS) {
+                throw new IllegalArgumentException("More than " + MAX_CONDITIONS + " distinct conditions in one forecast");
+            }
+            code = table.size();
+            table.add(condition);
+        }
+        return (byte) code;
     }
 
     public String getLocation() {
         return location;
     }
 
-    public void setLocation(String location) {
-        this.location = location;
+    /**
+     * The days as objects, for serialization and callers that want them. Each
+     * access builds a new {@link DailyForecast}; prefer the column accessors in
+     * loops over long horizons.
+     */
+    public List<DailyForecast> getDailyForecasts() {
+        return dailyForecastView;
     }
 
-    public List<DailyForecast> getDailyForecasts() {
-        return dailyForecasts;
+    public String getProvider() {
+        return provider;
     }
 
-    public void setDailyForecasts(List<DailyForecast> dailyForecasts) {
-        this.dailyForecasts = dailyForecasts;
+    /**
+     * The first {@code days} days of this forecast; this instance itself if it
+     * has no more than that.
+     */
+    public WeatherForecast slice(int days) {
+        if (days < 0) {
+            throw new IllegalArgumentException("days must not be negative");
+        }
+        return days >= dayCount() ? this : new WeatherForecast(this, days);
     }
 
-    public String getProvider() {
-        return provider;
+    public int dayCount() {
+        return highTemps.length;
+    }
+
+    public LocalDate date(int day) {
+        int epochDay = epochDay(day);
+        return epochDay == NO_DATE ? null : Canonical.date(LocalDate.ofEpochDay(epochDay));
+    }
+
+    public double highTemp(int day) {
+        return highTemps[day];
+    }
+
+    public double lowTemp(int day) {
+        return lowTemps[day];
+    }
+
+    public String condition(int day) {
+        return conditions[conditionCodes[day] & 0xFF];
+    }
+
+    public double precipitationChance(int day) {
+        return precipitationChances[day];
+    }
+
+    private int epochDay(int day) {
+        if (epochDays != null) {
+            return epochDays[day];
+        }
+        Objects.checkIndex(day, highTemps.length);
+        return startEpochDay + day;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof WeatherForecast other)) {
+            return false;
+        }
+        return Objects.equals(location, other.location)
+                && Objects.equals(provider, other.provider)
+                && dailyForecastView.equals(other.dailyForecastView);
     }
 
-    public void setProvider(String provider) {
-        this.provider = provider;
+    @Override
+    public int hashCode() {
+        return Objects.hash(location, provider, dailyForecastView);
     }
 
-    public static class DailyForecast {
-        private LocalDate date;
-        private double highTemp;
-        private double lowTemp;
-        private String condition;
-        private double precipitationChance;
+    private final class DailyForecastView extends AbstractList<DailyForecast> implements RandomAccess {
+
+        @Override
+        public DailyForecast get(int index) {
+            return new DailyForecast(date(index), highTemps[index], lowTemps[index],
+                    condition(index), precipitationChances[index]);
+        }
 
-        public DailyForecast() {
+        @Override
+        public int size() {
+            return highTemps.length;
         }
+    }
 
-        public DailyForecast(LocalDate date, double highTemp, double lowTemp,
-                             String condition, double precipitationChance) {
-            this.date = date;
+    public static final class DailyForecast {
+        private final LocalDate date;
+        private final double highTemp;
+        private final double lowTemp;
+        private final String condition;
+        private final double precipitationChance;
+
+        @JsonCreator
+        public DailyForecast(@JsonProperty("date") LocalDate date,
+                             @JsonProperty("highTemp") double highTemp,
+                             @JsonProperty("lowTemp") double lowTemp,
+                             @JsonProperty("condition") String condition,
+                             @JsonProperty("precipitationChance") double precipitationChance) {
+            this.date = Canonical.date(date);
             this.highTemp = highTemp;
             this.lowTemp = lowTemp;
-            this.condition = condition;
+            this.condition = Canonical.string(condition);
             this.precipitationChance = precipitationChance;
         }
 
@@ -64,40 +211,40 @@ public class WeatherForecast {
             return date;
         }
 
-        public void setDate(LocalDate date) {
-            this.date = date;
-        }
-
         public double getHighTemp() {
             return highTemp;
         }
 
-        public void setHighTemp(double highTemp) {
-            this.highTemp = highTemp;
-        }
-
         public double getLowTemp() {
             return lowTemp;
         }
 
-        public void setLowTemp(double lowTemp) {
-            this.lowTemp = lowTemp;
-        }
-
         public String getCondition() {
             return condition;
         }
 
-        public void setCondition(String condition) {
-            this.condition = condition;
-        }
-
         public double getPrecipitationChance() {
             return precipitationChance;
         }
 
-        public void setPrecipitationChance(double precipitationChance) {
-            this.precipitationChance = precipitationChance;
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DailyForecast other)) {
+                return false;
+            }
+            return Double.compare(highTemp, other.highTemp) == 0
+                    && Double.compare(lowTemp, other.lowTemp) == 0
+                    && Double.compare(precipitationChance, other.precipitationChance) == 0
+                    && Objects.equals(date, other.date)
+                    && Objects.equals(condition, other.condition);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(date, highTemp, lowTemp, condition, precipitationChance);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,123 @@
+package com.example.weatherservice.resilience;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Concurrency limit that adapts to observed latency, after the gradient
+ * algorithm used by Netflix's concurrency-limits.
+ * <p>
+ * A short-term latency average is compared with a long-term baseline. While
+ * latency stays near the baseline the limit grows by a small queue allowance;
+ * when latency rises (requests are queueing somewhere) the limit shrinks in
+ * proportion. Requests beyond the current limit are rejected, not queued.
+ * <p>
+ * Completions update the limit with a compare-and-set on an immutable snapshot,
+ * so no lock is taken on the request path.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 600;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+    // Limit and latency averages change together, so they are swapped as one snapshot
+    private final AtomicReference<State> state;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.state = new AtomicReference<>(new State(initialLimit, 0, 0));
+    }
+
+    /**
+     * Reserves a slot, or returns false if the limit has been reached.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) state.get().limit()) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot for a request that completed normally and feeds its latency into the limit.
+     */
+    public void onSuccess(long rttNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        state.updateAndGet(current -> sample(current, rttNanos, inFlightAtCompletion));
+    }
+
+    /**
+     * Releases a slot for a request that failed, and backs the limit off.
+     */
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        state.updateAndGet(current -> current.withLimit(update(current.limit(), current.limit() * BACKOFF_RATIO)));
+    }
+
+    /**
+     * Releases a slot without affecting the limit (e.g. the client went away).
+     */
+    public void onIgnore() {
+        inFlight.decrementAndGet();
+    }
+
+    private State sample(State current, long rttNanos, int inFlightAtCompletion) {
+        if (current.longRtt() == 0) {
+            return new State(current.limit(), rttNanos, rttNanos);
+        }
+
+        double shortRtt = current.shortRtt() + (rttNanos - current.shortRtt()) / SHORT_WINDOW;
+        double longRtt = current.longRtt() + (shortRtt - current.longRtt()) / LONG_WINDOW;
+        if (longRtt / shortRtt > 2) {
+            // Latency has dropped well below the baseline; let the baseline catch up faster
+            longRtt *= 0.95;
+        }
+
+        double limit = current.limit();
+        // Not enough load to tell whether the limit is too high; leave it alone
+        if (inFlightAtCompletion >= limit / 2) {
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+            limit = update(limit, limit * gradient + Math.sqrt(limit));
+        }
+        return new State(limit, shortRtt, longRtt);
+    }
+
+    private double update(double limit, double newLimit) {
+        double smoothed = limit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        return Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+
+    public int getLimit() {
+        return (int) state.get().limit();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    private record State(double limit, double shortRtt, double longRtt) {
+
+        State withLimit(double newLimit) {
+            return new State(newLimit, shortRtt, longRtt);
+        }
+    }
+}
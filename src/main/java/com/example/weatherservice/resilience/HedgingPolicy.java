@@ -0,0 +1,157 @@
+package com.example.weatherservice.resilience;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Hedged requests: if the primary call has not answered after a delay derived
+ * from the observed latency percentile, an identical second call is sent and
+ * whichever produces a value first wins; the other is cancelled. Calls that
+ * produced a value feed the latency percentile, and so does a primary that lost
+ * to its hedge, at the time it had taken so far; leaving slow primaries out
+ * would pull the delay down and make hedging ever more frequent. The percentile
+ * is recomputed in the background.
+ * <p>
+ * Hedges are paid for from a budget that grows by {@code maxRatio} per primary
+ * call, so at most that fraction of calls is ever duplicated.
+ */
+public class HedgingPolicy {
+
+    private static final int SAMPLE_SIZE = 1024;
+    private static final int MIN_SAMPLES = 32;
+    private static final int RECOMPUTE_EVERY = 64;
+    private static final long UNITS_PER_HEDGE = 1000;
+    private static final long MAX_BUDGET_UNITS = 10 * UNITS_PER_HEDGE;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final Duration minDelay;
+    private final Duration maxDelay;
+    private final long ratioUnits;
+    private final LatencySampler latencies = new LatencySampler(SAMPLE_SIZE);
+
+    private final AtomicLong samplesSeen = new AtomicLong();
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedgesFired = new AtomicLong();
+    private final AtomicLong hedgesWon = new AtomicLong();
+    // Hedge budget in thousandths of a hedge
+    private final AtomicLong budgetUnits = new AtomicLong();
+    private final AtomicBoolean recomputing = new AtomicBoolean();
+    private volatile long delayNanos;
+
+    public HedgingPolicy(boolean enabled, double percentile, Duration minDelay, Duration maxDelay, double maxRatio) {
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minDelay = minDelay;
+        this.maxDelay = maxDelay;
+        this.ratioUnits = Math.round(maxRatio * UNITS_PER_HEDGE);
+        this.delayNanos = maxDelay.toNanos();
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        if (!enabled) {
+            return Mono.defer(call);
+        }
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            onCall();
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Sinks.One<Boolean> primaryFailed = Sinks.one();
+
+            Mono<T> primary = Mono.defer(call)
+                    .doOnNext(value -> recordLatency(System.nanoTime() - started))
+                    .doOnError(error -> {
+                        primaryError.set(error);
+                        primaryFailed.tryEmitValue(Boolean.TRUE);
+                    });
+
+            // A failed primary is not hedged; the caller sees its error straight away
+            Mono<T> hedge = Mono.delay(Duration.ofNanos(delayNanos))
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        if (!tryAcquireHedge()) {
+                            // No budget left: keep waiting on the primary only
+                            return Mono.<T>empty();
+                        }
+                        hedgesFired.incrementAndGet();
+                        return Mono.defer(call).doOnNext(value -> {
+                            hedgesWon.incrementAndGet();
+                            // The primary is about to be cancelled; it took at least this long
+                            recordLatency(System.nanoTime() - started);
+                        });
+                    });
+
+            // The first call to produce a value wins; a failing call never pre-empts the other
+            return Mono.firstWithValue(primary, hedge)
+                    .onErrorMap(NoSuchElementException.class,
+                            error -> primaryError.get() != null ? primaryError.get() : error);
+        });
+    }
+
+    private void onCall() {
+        calls.incrementAndGet();
+        budgetUnits.updateAndGet(budget -> Math.min(MAX_BUDGET_UNITS, budget + ratioUnits));
+    }
+
+    private boolean tryAcquireHedge() {
+        long budget;
+        do {
+            budget = budgetUnits.get();
+            if (budget < UNITS_PER_HEDGE) {
+                return false;
+            }
+        } while (!budgetUnits.compareAndSet(budget, budget - UNITS_PER_HEDGE));
+        return true;
+    }
+
+    private void recordLatency(long nanos) {
+        latencies.record(nanos);
+        long seen = samplesSeen.incrementAndGet();
+        if ((seen == MIN_SAMPLES || (seen > MIN_SAMPLES && seen % RECOMPUTE_EVERY == 0))
+                && recomputing.compareAndSet(false, true)) {
+            // Sorting the samples is not something to do on the request thread
+            Schedulers.parallel().schedule(this::recomputeDelay);
+        }
+    }
+
+    private void recomputeDelay() {
+        try {
+            long observed = latencies.percentile(percentile);
+            delayNanos = Math.max(minDelay.toNanos(), Math.min(maxDelay.toNanos(), observed));
+        } finally {
+            recomputing.set(false);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Duration currentDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+
+    public long callCount() {
+        return calls.get();
+    }
+
+    public long hedgesFiredCount() {
+        return hedgesFired.get();
+    }
+
+    public long latencySampleCount() {
+        return samplesSeen.get();
+    }
+
+    public long hedgesWonCount() {
+        return hedgesWon.get();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.weatherservice.resilience;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent latency samples in a fixed-size ring and answers
+ * percentile queries over them.
+ */
+public class LatencySampler {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public LatencySampler(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    public void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+    }
+
+    public long count() {
+        return Math.min(recorded.get(), samples.length());
+    }
+
+    /**
+     * Returns the given percentile (0-100) of the retained samples, or -1 if
+     * nothing has been recorded yet.
+     */
+    public long percentile(double percentile) {
+        int size = (int) count();
+        if (size == 0) {
+            return -1;
+        }
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * size) - 1;
+        return sorted[Math.max(0, Math.min(size - 1, rank))];
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.weatherservice.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * The protections wrapped around every upstream call of one provider.
+ * <p>
+ * From the outside in: a circuit breaker that fails fast while the provider is
+ * unhealthy, optional hedging, and a bulkhead that caps concurrent upstream
+ * calls. The bulkhead sits inside the hedge so that a hedged request holds one
+ * permit per call actually in flight. The supplier is only invoked on subscription.
+ */
+public class ProviderResilience {
+
+    private final String provider;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final HedgingPolicy hedgingPolicy;
+
+    public ProviderResilience(String provider, CircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                              HedgingPolicy hedgingPolicy) {
+        this.provider = provider;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    public <T> Mono<T> execute(Supplier<Mono<T>> call) {
+        return hedgingPolicy.execute(() -> Mono.defer(call).transformDeferred(BulkheadOperator.of(bulkhead)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    public HedgingPolicy getHedgingPolicy() {
+        return hedgingPolicy;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.weatherservice.resilience;
+
+import com.example.weatherservice.config.ProviderProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the {@link ProviderResilience} for a provider.
+ * <p>
+ * Circuit breaker and bulkhead settings come from the {@code resilience4j.*}
+ * properties (instance name = provider name), which also publish their state and
+ * call metrics. This factory adds counters for bulkhead rejections and hedging.
+ */
+@Component
+public class ProviderResilienceFactory {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    public ProviderResilienceFactory(CircuitBreakerRegistry circuitBreakerRegistry,
+                                     BulkheadRegistry bulkheadRegistry,
+                                     MeterRegistry meterRegistry) {
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public ProviderResilience create(String provider, ProviderProperties properties) {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(provider);
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(provider);
+
+        ProviderProperties.Hedge hedge = properties.getHedge();
+        HedgingPolicy hedgingPolicy = new HedgingPolicy(
+                hedge.isEnabled(),
+                hedge.getPercentile(),
+                hedge.getMinDelay(),
+                hedge.getMaxDelay(),
+                hedge.getMaxRatio());
+
+        Counter rejected = Counter.builder("weather.provider.bulkhead.rejected")
+                .description("Provider calls rejected because the bulkhead was full")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+
+        FunctionCounter.builder("weather.provider.hedge.fired", hedgingPolicy, HedgingPolicy::hedgesFiredCount)
+                .description("Hedge requests sent after the primary call exceeded the hedge delay")
+                .tag("provider", provider)
+                .register(meterRegistry);
+        FunctionCounter.builder("weather.provider.hedge.won", hedgingPolicy, HedgingPolicy::hedgesWonCount)
+                .description("Hedge requests that answered before the primary call")
+                .tag("provider", provider)
+                .register(meterRegistry);
+
+        return new ProviderResilience(provider, circuitBreaker, bulkhead, hedgingPolicy);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.model.WeatherData;
+import reactor.core.publisher.Mono;
+
+/**
+ * A source of current conditions. Every bean implementing this is queried by
+ * {@link WeatherProviderRegistry}.
+ */
+public interface CurrentWeatherProvider {
+
+    String getName();
+
+    Mono<WeatherData> getCurrentWeather(String location);
+}
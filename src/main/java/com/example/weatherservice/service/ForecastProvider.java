@@ -0,0 +1,15 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.model.WeatherForecast;
+import reactor.core.publisher.Mono;
+
+/**
+ * A source of daily forecasts. Every bean implementing this is queried by
+ * {@link WeatherProviderRegistry}.
+ */
+public interface ForecastProvider {
+
+    String getName();
+
+    Mono<WeatherForecast> getForecast(String location, int days);
+}
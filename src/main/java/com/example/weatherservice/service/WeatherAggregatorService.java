@@ -1,58 +1,234 @@
 package com.example.weatherservice.service;
 
+import com.example.weatherservice.cache.Cached;
+import com.example.weatherservice.cache.ForecastKey;
+import com.example.weatherservice.cache.HotKeySketch;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.cluster.ClusterRouter;
+import com.example.weatherservice.location.LocationResolver;
+import com.example.weatherservice.location.ResolvedLocation;
+import com.example.weatherservice.metrics.MonoTimer;
 import com.example.weatherservice.model.WeatherData;
 import com.example.weatherservice.model.WeatherForecast;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 @Service
 public class WeatherAggregatorService {
 
-    private final WeatherProvider1Service weatherProvider1Service;
-    private final WeatherProvider2Service weatherProvider2Service;
+    static final String REPORT_TIMER = "weather.report.assembly";
+
+    private final WeatherProviderRegistry providerRegistry;
+    private final ResponseCache<String, WeatherData> currentWeatherCache;
+    private final ResponseCache<ForecastKey, WeatherForecast> forecastCache;
+    private final HotKeySketch<String> hotLocations;
+    private final ClusterRouter clusterRouter;
+    private final LocationResolver locationResolver;
+    private final MeterRegistry meterRegistry;
+    private final Duration reportLegTimeout;
+    private final boolean partialReports;
+    private final int maxForecastDays;
 
     @Autowired
     public WeatherAggregatorService(
-            WeatherProvider1Service weatherProvider1Service,
-            WeatherProvider2Service weatherProvider2Service
+            WeatherProviderRegistry providerRegistry,
+            ResponseCache<String, WeatherData> currentWeatherCache,
+            ResponseCache<ForecastKey, WeatherForecast> forecastCache,
+            HotKeySketch<String> hotLocations,
+            ClusterRouter clusterRouter,
+            LocationResolver locationResolver,
+            MeterRegistry meterRegistry,
+            @Value("${api.weather.report.leg-timeout:2s}") Duration reportLegTimeout,
+            @Value("${api.weather.report.partial:true}") boolean partialReports,
+            @Value("${api.weather.forecast.max-days:10}") int maxForecastDays
     ) {
-        this.weatherProvider1Service = weatherProvider1Service;
-        this.weatherProvider2Service = weatherProvider2Service;
+        this.providerRegistry = providerRegistry;
+        this.currentWeatherCache = currentWeatherCache;
+        this.forecastCache = forecastCache;
+        this.hotLocations = hotLocations;
+        this.clusterRouter = clusterRouter;
+        this.locationResolver = locationResolver;
+        this.meterRegistry = meterRegistry;
+        this.reportLegTimeout = reportLegTimeout;
+        this.partialReports = partialReports;
+        this.maxForecastDays = maxForecastDays;
     }
 
     public Mono<WeatherData> getCurrentWeather(String location) {
-        return weatherProvider1Service.getCurrentWeather(location);
+        return lookupCurrentWeather(location).map(Cached::getValue);
     }
 
     public Mono<WeatherForecast> getForecast(String location, int days) {
-        return weatherProvider2Service.getForecast(location, days);
+        return lookupForecast(location, days).map(Cached::getValue);
     }
 
     public Mono<WeatherReport> getFullWeatherReport(String location, int forecastDays) {
-        return Mono.zip(
-                getCurrentWeather(location),
-                getForecast(location, forecastDays)
-        ).map(this::combineWeatherData);
+        return lookupFullWeatherReport(location, forecastDays).map(Cached::getValue);
+    }
+
+    /**
+     * Current weather along with its cache metadata; may be stale while a refresh runs.
+     * The location is resolved to its cache key first, so nearby coordinates and
+     * known spellings of a place share an entry. In cluster mode, locations owned
+     * by another member are fetched from it.
+     */
+    public Mono<Cached<WeatherData>> lookupCurrentWeather(String location) {
+        ResolvedLocation resolved = locationResolver.resolve(location);
+        String key = resolved.key();
+        // Only locations served here count towards prefetching
+        Mono<Cached<WeatherData>> local = Mono.defer(() -> {
+            hotLocations.record(key);
+            return currentWeatherCache.lookup(key, k -> providerRegistry.getCurrentWeather(resolved.query()));
+        });
+        return clusterRouter.lookupCurrentWeather(key, location, local);
+    }
+
+    /**
+     * Forecast for the next {@code days} days. The full horizon ({@code max-days})
+     * is fetched and cached once per location, and each request is answered with
+     * a slice of it, so different horizons share one entry and one upstream call.
+     */
+    public Mono<Cached<WeatherForecast>> lookupForecast(String location, int days) {
+        ResolvedLocation resolved = locationResolver.resolve(location);
+        ForecastKey key = new ForecastKey(resolved.key(), maxForecastDays);
+        Mono<Cached<WeatherForecast>> local = Mono.defer(() -> {
+            hotLocations.record(key.location());
+            return forecastCache.lookup(key, k -> providerRegistry.getForecast(resolved.query(), maxForecastDays));
+        });
+        return clusterRouter.lookupForecast(key, location, local)
+                .map(cached -> days >= cached.getValue().dayCount() ? cached
+                        : cached.view("days=" + days, forecast -> forecast.slice(days)));
+    }
+
+    public int getMaxForecastDays() {
+        return maxForecastDays;
+    }
+
+    /**
+     * Combined report; stale if either part is stale, fetched at the older of the two
+     * and fresh until the earlier of the two.
+     * <p>
+     * Each part is bounded by the leg timeout. In partial mode a part that fails or
+     * times out is left out and listed in {@link WeatherReport#getMissingSections()};
+     * the report only fails when both parts are unavailable. Otherwise any failing
+     * part fails the whole report.
+     * <p>
+     * Assembly is timed as {@value #REPORT_TIMER}, with outcome "partial" for
+     * reports that are missing a section.
+     */
+    public Mono<Cached<WeatherReport>> lookupFullWeatherReport(String location, int forecastDays) {
+        return MonoTimer.time(assembleReport(location, forecastDays), meterRegistry, REPORT_TIMER, Tags.empty(),
+                cached -> cached.getValue().isPartial() ? "partial" : MonoTimer.SUCCESS);
+    }
+
+    private Mono<Cached<WeatherReport>> assembleReport(String location, int forecastDays) {
+        Mono<Cached<WeatherData>> current = lookupCurrentWeather(location).timeout(reportLegTimeout);
+        Mono<Cached<WeatherForecast>> forecast = lookupForecast(location, forecastDays).timeout(reportLegTimeout);
+
+        if (!partialReports) {
+            return Mono.zip(current, forecast).map(tuple -> {
+                Cached<WeatherData> currentPart = tuple.getT1();
+                Cached<WeatherForecast> forecastPart = tuple.getT2();
+                return new Cached<>(
+                        new WeatherReport(currentPart.getValue(), forecastPart.getValue()),
+                        older(currentPart.getFetchedAt(), forecastPart.getFetchedAt()),
+                        older(currentPart.getFreshUntil(), forecastPart.getFreshUntil()),
+                        currentPart.isStale() || forecastPart.isStale());
+            });
+        }
+
+        return Mono.zip(ReportLeg.of(current), ReportLeg.of(forecast))
+                .flatMap(tuple -> combinePartial(tuple.getT1(), tuple.getT2()));
+    }
+
+    private Mono<Cached<WeatherReport>> combinePartial(ReportLeg<WeatherData> current,
+                                                       ReportLeg<WeatherForecast> forecast) {
+        if (current.value() == null && forecast.value() == null) {
+            Throwable error = current.error() != null ? current.error() : forecast.error();
+            return error == null ? Mono.empty() : Mono.error(error);
+        }
+
+        List<String> missingSections = new ArrayList<>();
+        if (current.value() == null) {
+            missingSections.add(WeatherReport.CURRENT_WEATHER);
+        }
+        if (forecast.value() == null) {
+            missingSections.add(WeatherReport.FORECAST);
+        }
+
+        WeatherReport report = new WeatherReport(
+                current.value() == null ? null : current.value().getValue(),
+                forecast.value() == null ? null : forecast.value().getValue(),
+                missingSections);
+        Instant fetchedAt = current.value() == null ? forecast.value().getFetchedAt()
+                : forecast.value() == null ? current.value().getFetchedAt()
+                : older(current.value().getFetchedAt(), forecast.value().getFetchedAt());
+        // A partial report should not be reused by clients once the missing part may be back
+        Instant freshUntil = missingSections.isEmpty()
+                ? older(current.value().getFreshUntil(), forecast.value().getFreshUntil())
+                : fetchedAt;
+        boolean stale = (current.value() != null && current.value().isStale())
+                || (forecast.value() != null && forecast.value().isStale());
+        return Mono.just(new Cached<>(report, fetchedAt, freshUntil, stale));
     }
 
-    private WeatherReport combineWeatherData(Tuple2<WeatherData, WeatherForecast> tuple) {
-        WeatherData currentWeather = tuple.getT1();
-        WeatherForecast forecast = tuple.getT2();
+    private static Instant older(Instant first, Instant second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    /**
+     * One part of a report: its value, or the error (including a timeout) that prevented it.
+     */
+    private record ReportLeg<T>(Cached<T> value, Throwable error) {
+
+        static <T> Mono<ReportLeg<T>> of(Mono<Cached<T>> part) {
+            return part
+                    .map(value -> new ReportLeg<T>(value, null))
+                    .defaultIfEmpty(new ReportLeg<>(null, null))
+                    .onErrorResume(error -> Mono.just(new ReportLeg<>(null, error)));
+        }
+    }
 
-        return new WeatherReport(currentWeather, forecast);
+    /**
+     * Trimmed, lower-cased spelling of a location, used to drop repeated locations
+     * from a request. Cache keys come from {@link LocationResolver}.
+     */
+    static String normalizeLocation(String location) {
+        return LocationResolver.normalize(location);
     }
 
     public static class WeatherReport {
+        public static final String CURRENT_WEATHER = "currentWeather";
+        public static final String FORECAST = "forecast";
+
         private WeatherData currentWeather;
         private WeatherForecast forecast;
+        private List<String> missingSections = Collections.emptyList();
+
+        public WeatherReport() {
+        }
 
         public WeatherReport(WeatherData currentWeather, WeatherForecast forecast) {
             this.currentWeather = currentWeather;
             this.forecast = forecast;
         }
 
+        public WeatherReport(WeatherData currentWeather, WeatherForecast forecast, List<String> missingSections) {
+            this.currentWeather = currentWeather;
+            this.forecast = forecast;
+            this.missingSections = missingSections;
+        }
+
         public WeatherData getCurrentWeather() {
             return currentWeather;
         }
@@ -68,5 +244,20 @@ public class WeatherAggregatorService {
         public void setForecast(WeatherForecast forecast) {
             this.forecast = forecast;
         }
+
+        /**
+         * Sections left out because their provider failed or timed out.
+         */
+        public List<String> getMissingSections() {
+            return missingSections;
+        }
+
+        public void setMissingSections(List<String> missingSections) {
+            this.missingSections = missingSections;
+        }
+
+        public boolean isPartial() {
+            return !missingSections.isEmpty();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.model.BatchWeatherResponse;
+import com.example.weatherservice.model.LocationWeatherResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Current weather for many locations in one call.
+ * <p>
+ * Repeated locations (after normalization) are looked up once, and at most
+ * {@code concurrency} lookups run at a time so a large batch cannot flood the
+ * providers. Results keep the order in which locations were first requested.
+ */
+@Service
+public class WeatherBatchService {
+
+    static final String NO_DATA = "No weather data available";
+    static final String NOT_FOUND = "Location not found";
+    static final String TIMEOUT = "Weather provider timed out";
+    static final String UNAVAILABLE = "Weather provider unavailable";
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherBatchService.class);
+
+    private final WeatherAggregatorService weatherService;
+    private final int concurrency;
+    private final int maxLocations;
+
+    @Autowired
+    public WeatherBatchService(
+            WeatherAggregatorService weatherService,
+            @Value("${api.weather.batch.concurrency:32}") int concurrency,
+            @Value("${api.weather.batch.max-locations:500}") int maxLocations) {
+        this.weatherService = weatherService;
+        this.concurrency = concurrency;
+        this.maxLocations = maxLocations;
+    }
+
+    public Mono<BatchWeatherResponse> getCurrentWeather(List<String> locations) {
+        Map<String, String> uniqueLocations = new LinkedHashMap<>();
+        for (String location : locations) {
+            if (location != null && !location.isBlank()) {
+                uniqueLocations.putIfAbsent(WeatherAggregatorService.normalizeLocation(location), location);
+            }
+        }
+
+        return Flux.fromIterable(uniqueLocations.values())
+                .flatMapSequential(this::lookup, concurrency)
+                .collectList()
+                .map(BatchWeatherResponse::new);
+    }
+
+    private Mono<LocationWeatherResult> lookup(String location) {
+        return weatherService.getCurrentWeather(location)
+                .map(weather -> LocationWeatherResult.success(location, weather))
+                .defaultIfEmpty(LocationWeatherResult.failure(location, NO_DATA))
+                .onErrorResume(error -> {
+                    log.warn("Batch lookup for {} failed: {}", location, error.toString());
+                    return Mono.just(LocationWeatherResult.failure(location, reasonFor(error)));
+                });
+    }
+
+    /**
+     * The client-facing reason for a failed lookup. Exception messages can carry
+     * upstream URLs and hosts, so they are only logged.
+     */
+    static String reasonFor(Throwable error) {
+        if (error instanceof WebClientResponseException.NotFound) {
+            return NOT_FOUND;
+        }
+        if (error instanceof TimeoutException) {
+            return TIMEOUT;
+        }
+        return UNAVAILABLE;
+    }
+
+    public int getMaxLocations() {
+        return maxLocations;
+    }
+}
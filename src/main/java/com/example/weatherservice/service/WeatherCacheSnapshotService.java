@@ -0,0 +1,182 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.cache.ForecastKey;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Saves the weather caches to local snapshot files and restores them on
+ * startup, so a restarted instance does not refetch every location at once.
+ * <p>
+ * Snapshots are written in Smile (binary JSON) every {@code interval} and at
+ * shutdown, through a temporary file that replaces the previous snapshot
+ * atomically. Restoring runs in the background after startup, so readiness is
+ * not delayed. Entries keep their original fetch time, so the TTL they have
+ * left accounts for the snapshot's age, and anything already past its stale
+ * window is skipped.
+ */
+@Service
+public class WeatherCacheSnapshotService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherCacheSnapshotService.class);
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ResponseCache<String, WeatherData> currentWeatherCache;
+    private final ResponseCache<ForecastKey, WeatherForecast> forecastCache;
+    private final ObjectMapper smileMapper;
+    private final JavaType currentEntryType;
+    private final JavaType forecastEntryType;
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration interval;
+    private final Scheduler scheduler = Schedulers.newSingle("cache-snapshot");
+    private Disposable periodicSnapshots;
+
+    @Autowired
+    public WeatherCacheSnapshotService(
+            ResponseCache<String, WeatherData> currentWeatherCache,
+            ResponseCache<ForecastKey, WeatherForecast> forecastCache,
+            ObjectMapper objectMapper,
+            @Value("${api.weather.snapshot.enabled:true}") boolean enabled,
+            @Value("${api.weather.snapshot.directory:data/snapshots}") Path directory,
+            @Value("${api.weather.snapshot.interval:5m}") Duration interval
+    ) {
+        this.currentWeatherCache = currentWeatherCache;
+        this.forecastCache = forecastCache;
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.currentEntryType = smileMapper.getTypeFactory()
+                .constructParametricType(SnapshotEntry.class, String.class, WeatherData.class);
+        this.forecastEntryType = smileMapper.getTypeFactory()
+                .constructParametricType(SnapshotEntry.class, ForecastKey.class, WeatherForecast.class);
+        this.enabled = enabled;
+        this.directory = directory;
+        this.interval = interval;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public synchronized void start() {
+        if (!enabled || periodicSnapshots != null) {
+            return;
+        }
+
+        // Restore first, then snapshot periodically; both on the snapshot thread
+        periodicSnapshots = Mono.fromRunnable(this::restoreAll)
+                .thenMany(Flux.interval(interval, interval, scheduler))
+                .onBackpressureDrop()
+                .subscribeOn(scheduler)
+                .subscribe(tick -> snapshotAll(),
+                        error -> log.warn("Cache snapshots stopped: {}", error.toString()));
+    }
+
+    /**
+     * Loads both snapshot files, if present; returns the number of entries restored.
+     */
+    public int restoreAll() {
+        return restore(currentWeatherCache, currentEntryType) + restore(forecastCache, forecastEntryType);
+    }
+
+    /**
+     * Writes both caches to their snapshot files; returns the number of entries written.
+     */
+    public int snapshotAll() {
+        return snapshot(currentWeatherCache) + snapshot(forecastCache);
+    }
+
+    private <K, V> int restore(ResponseCache<K, V> cache, JavaType entryType) {
+        Path file = snapshotFile(cache);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        int restored = 0;
+        int read = 0;
+        try (MappingIterator<SnapshotEntry<K, V>> entries = smileMapper.readerFor(entryType).readValues(file.toFile())) {
+            while (entries.hasNextValue()) {
+                SnapshotEntry<K, V> entry = entries.nextValue();
+                read++;
+                if (cache.restore(entry.key(), entry.value(), entry.fetchedAt())) {
+                    restored++;
+                }
+            }
+            log.info("Restored {} of {} {} cache entries from {}", restored, read, cache.getName(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not restore {} cache from {} after {} entries: {}", cache.getName(), file, read, e.toString());
+        }
+        return restored;
+    }
+
+    private <K, V> int snapshot(ResponseCache<K, V> cache) {
+        Path file = snapshotFile(cache);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        int[] written = {0};
+        try {
+            Files.createDirectories(directory);
+            try (OutputStream out = Files.newOutputStream(temp);
+                 SequenceWriter writer = smileMapper.writer().writeValues(out)) {
+                cache.forEachEntry((key, value, fetchedAt) -> {
+                    try {
+                        writer.write(new SnapshotEntry<>(key, value, fetchedAt));
+                        written[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not write {} cache snapshot to {}: {}", cache.getName(), file, e.toString());
+        }
+        return written[0];
+    }
+
+    private Path snapshotFile(ResponseCache<?, ?> cache) {
+        return directory.resolve(cache.getName() + ".snapshot.smile");
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (periodicSnapshots != null) {
+            periodicSnapshots.dispose();
+            // On the snapshot thread, so it cannot overlap a snapshot that is still being written
+            try {
+                Mono.fromCallable(this::snapshotAll)
+                        .subscribeOn(scheduler)
+                        .block(SHUTDOWN_TIMEOUT);
+            } catch (RuntimeException e) {
+                log.warn("Final cache snapshot did not complete: {}", e.toString());
+            }
+        }
+        scheduler.dispose();
+    }
+
+    record SnapshotEntry<K, V>(K key, V value, Instant fetchedAt) {
+    }
+}
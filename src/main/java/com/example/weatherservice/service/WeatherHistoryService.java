@@ -0,0 +1,97 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.history.ObservationStore;
+import com.example.weatherservice.location.LocationResolver;
+import com.example.weatherservice.location.ResolvedLocation;
+import com.example.weatherservice.model.WeatherData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records every current-weather observation loaded from a provider and answers
+ * range queries over them from the off-heap {@link ObservationStore}.
+ * <p>
+ * Loads complete on the event loop, so observations are handed to a single
+ * writer thread through a bounded queue; when the queue is full the observation
+ * is dropped rather than blocking the load.
+ */
+@Service
+public class WeatherHistoryService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherHistoryService.class);
+
+    private final ObservationStore observationStore;
+    private final LocationResolver locationResolver;
+    private final int maxResults;
+    private final ThreadPoolExecutor appendExecutor;
+    private final AtomicLong droppedAppends = new AtomicLong();
+
+    @Autowired
+    public WeatherHistoryService(ObservationStore observationStore,
+                                 ResponseCache<String, WeatherData> currentWeatherCache,
+                                 LocationResolver locationResolver,
+                                 @Value("${api.weather.history.max-results:10000}") int maxResults,
+                                 @Value("${api.weather.history.append-queue:10000}") int appendQueueCapacity) {
+        this.observationStore = observationStore;
+        this.locationResolver = locationResolver;
+        this.maxResults = maxResults;
+        this.appendExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(appendQueueCapacity),
+                Thread.ofPlatform().name("history-append").daemon().factory(),
+                (task, executor) -> onAppendRejected());
+        currentWeatherCache.addLoadListener(this::record);
+    }
+
+    private void record(String location, WeatherData observation) {
+        appendExecutor.execute(() -> observationStore.append(location, observation));
+    }
+
+    private void onAppendRejected() {
+        if (droppedAppends.incrementAndGet() % 10_000 == 1) {
+            log.warn("History append queue is full; dropped {} observations so far", droppedAppends.get());
+        }
+    }
+
+    /**
+     * Observations for the location between {@code from} and {@code to} (UTC),
+     * oldest first; capped at the most recent {@code max-results}. Observations
+     * carry the place name the location resolves to, not its cache key.
+     */
+    public Flux<WeatherData> getHistory(String location, LocalDateTime from, LocalDateTime to) {
+        ResolvedLocation resolved = locationResolver.resolve(location);
+        // Reads can fault pages in from disk, so keep them off the event loop
+        return Mono.fromCallable(() -> observationStore.range(resolved.key(), resolved.query(), from, to, maxResults))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(observations -> observations);
+    }
+
+    public long droppedAppendCount() {
+        return droppedAppends.get();
+    }
+
+    /**
+     * Stops accepting observations and lets the writer drain what is already queued.
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        appendExecutor.shutdown();
+        if (!appendExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("History writer did not drain in time; {} observations discarded",
+                    appendExecutor.shutdownNow().size());
+        }
+    }
+}
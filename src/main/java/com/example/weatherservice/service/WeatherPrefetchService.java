@@ -0,0 +1,169 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.cache.ForecastKey;
+import com.example.weatherservice.cache.HotKeySketch;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.location.LocationResolver;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Refreshes cache entries for the most requested locations shortly before they
+ * expire, so hot locations are served from cache instead of waiting on a provider.
+ * <p>
+ * Every {@code interval} the pinned locations and the hottest tracked locations
+ * are checked. Entries that are missing or within {@code lead} of going stale are
+ * reloaded, up to {@code budget} reloads per cycle. The work runs on its own
+ * bounded scheduler, never on request threads.
+ */
+@Service
+public class WeatherPrefetchService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherPrefetchService.class);
+
+    private final ResponseCache<String, WeatherData> currentWeatherCache;
+    private final ResponseCache<ForecastKey, WeatherForecast> forecastCache;
+    private final WeatherProviderRegistry providerRegistry;
+    private final HotKeySketch<String> hotLocations;
+    private final LocationResolver locationResolver;
+    private final boolean enabled;
+    private final Duration interval;
+    private final Duration lead;
+    private final int budget;
+    private final int concurrency;
+    private final int forecastDays;
+    private final List<String> pinnedLocations;
+    private final long decayEveryTicks;
+    private final Scheduler scheduler;
+    private final AtomicLong prefetched = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private Disposable subscription;
+
+    @Autowired
+    public WeatherPrefetchService(
+            ResponseCache<String, WeatherData> currentWeatherCache,
+            ResponseCache<ForecastKey, WeatherForecast> forecastCache,
+            WeatherProviderRegistry providerRegistry,
+            HotKeySketch<String> hotLocations,
+            LocationResolver locationResolver,
+            @Value("${api.weather.prefetch.enabled:true}") boolean enabled,
+            @Value("${api.weather.prefetch.interval:15s}") Duration interval,
+            @Value("${api.weather.prefetch.lead:60s}") Duration lead,
+            @Value("${api.weather.prefetch.budget:50}") int budget,
+            @Value("${api.weather.prefetch.concurrency:4}") int concurrency,
+            @Value("${api.weather.forecast.max-days:10}") int forecastDays,
+            @Value("${api.weather.prefetch.pinned-locations:}") List<String> pinnedLocations,
+            @Value("${api.weather.prefetch.decay-interval:5m}") Duration decayInterval
+    ) {
+        this.currentWeatherCache = currentWeatherCache;
+        this.forecastCache = forecastCache;
+        this.providerRegistry = providerRegistry;
+        this.hotLocations = hotLocations;
+        this.locationResolver = locationResolver;
+        this.enabled = enabled;
+        this.interval = interval;
+        this.lead = lead;
+        this.budget = budget;
+        this.concurrency = concurrency;
+        this.forecastDays = forecastDays;
+        this.pinnedLocations = pinnedLocations.stream()
+                .filter(location -> !location.isBlank())
+                .map(location -> locationResolver.resolve(location).key())
+                .distinct()
+                .toList();
+        this.decayEveryTicks = Math.max(1, decayInterval.toMillis() / Math.max(1, interval.toMillis()));
+        this.scheduler = Schedulers.newBoundedElastic(concurrency, budget * 2, "prefetch");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (!enabled || subscription != null) {
+            return;
+        }
+
+        subscription = Flux.interval(Duration.ZERO, interval, scheduler)
+                .onBackpressureDrop()
+                .concatMap(tick -> {
+                    if (tick > 0 && tick % decayEveryTicks == 0) {
+                        hotLocations.decay();
+                    }
+                    return prefetchOnce();
+                })
+                .subscribe();
+        log.info("Prefetching {} pinned and up to {} hot locations every {}", pinnedLocations.size(), budget, interval);
+    }
+
+    /**
+     * Runs one prefetch cycle; emits the number of entries reloaded.
+     */
+    public Mono<Integer> prefetchOnce() {
+        return Mono.defer(() -> {
+            Set<String> locations = new LinkedHashSet<>(pinnedLocations);
+            locations.addAll(hotLocations.top(budget));
+
+            List<Mono<?>> refreshes = new ArrayList<>();
+            for (String location : locations) {
+                if (refreshes.size() >= budget) {
+                    break;
+                }
+                if (currentWeatherCache.needsRefresh(location, lead)) {
+                    refreshes.add(currentWeatherCache.refresh(location,
+                            key -> providerRegistry.getCurrentWeather(locationResolver.upstreamQuery(key))));
+                }
+                ForecastKey forecastKey = new ForecastKey(location, forecastDays);
+                if (refreshes.size() < budget && forecastCache.needsRefresh(forecastKey, lead)) {
+                    refreshes.add(forecastCache.refresh(forecastKey,
+                            key -> providerRegistry.getForecast(
+                                    locationResolver.upstreamQuery(key.location()), key.days())));
+                }
+            }
+
+            return Flux.fromIterable(refreshes)
+                    .flatMap(refresh -> refresh
+                            .subscribeOn(scheduler)
+                            .doOnNext(value -> prefetched.incrementAndGet())
+                            .onErrorResume(error -> {
+                                failures.incrementAndGet();
+                                log.warn("Prefetch failed: {}", error.toString());
+                                return Mono.empty();
+                            }), concurrency)
+                    .then(Mono.just(refreshes.size()));
+        });
+    }
+
+    public long prefetchedCount() {
+        return prefetched.get();
+    }
+
+    public long failureCount() {
+        return failures.get();
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+        scheduler.dispose();
+    }
+}
@@ -1,49 +1,89 @@
 package com.example.weatherservice.service;
 
+import com.example.weatherservice.config.ProviderClientFactory;
+import com.example.weatherservice.config.ProviderProperties;
 import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.resilience.ProviderResilience;
+import com.example.weatherservice.resilience.ProviderResilienceFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 @Service
-public class WeatherProvider1Service {
+public class WeatherProvider1Service implements CurrentWeatherProvider {
 
-    private final WebClient.Builder webClientBuilder;
-
-    @Value("${api.weather.provider1.url:https://api.weatherprovider1.com}")
-    private String apiUrl;
+    private final ProviderProperties properties;
+    private final WebClient webClient;
+    private final RestClient restClient;
+    private final Scheduler blockingScheduler;
+    private final ProviderResilience resilience;
 
     @Autowired
-    public WeatherProvider1Service(WebClient.Builder webClientBuilder) {
-        this.webClientBuilder = webClientBuilder;
+    public WeatherProvider1Service(ProviderClientFactory clientFactory,
+                                   ProviderResilienceFactory resilienceFactory,
+                                   @Qualifier("provider1Properties") ProviderProperties properties) {
+        this.properties = properties;
+        if (properties.getClient() == ProviderProperties.ClientMode.BLOCKING) {
+            this.webClient = null;
+            this.restClient = clientFactory.createRestClient(properties);
+        } else {
+            this.webClient = clientFactory.createWebClient("provider1", properties);
+            this.restClient = null;
+        }
+        this.blockingScheduler = clientFactory.blockingScheduler();
+        this.resilience = resilienceFactory.create("provider1", properties);
+    }
+
+    @Override
+    public String getName() {
+        return "provider1";
     }
 
+    @Override
     public Mono<WeatherData> getCurrentWeather(String location) {
-        // In a real implementation, this would call the external API
-        // For this example, we're simulating the response
+        if (properties.isSimulated()) {
+            return Mono.just(simulatedWeather(location));
+        }
+
+        return resilience.execute(() -> fetch(location));
+    }
 
-        // For demonstration, we'll mock the response
-        return Mono.just(new WeatherData(
+    private Mono<WeatherData> fetch(String location) {
+        if (restClient != null) {
+            // Blocking call, run on a virtual thread rather than the caller's thread
+            return Mono.fromCallable(() -> restClient.get()
+                            .uri("/current?location={location}", location)
+                            .retrieve()
+                            .body(WeatherData.class))
+                    .subscribeOn(blockingScheduler);
+        }
+
+        return webClient.get()
+                .uri("/current?location={location}", location)
+                .retrieve()
+                .bodyToMono(WeatherData.class);
+    }
+
+    private WeatherData simulatedWeather(String location) {
+        return new WeatherData(
                 location,
                 22.5,
                 65.0,
                 10.2,
                 "Partly Cloudy",
-                LocalDateTime.now(),
+                LocalDateTime.now(ZoneOffset.UTC),
                 "Provider1"
-        ));
-
-        // Real implementation would look like this:
-        /*
-        return webClientBuilder.build()
-            .get()
-            .uri(apiUrl + "/current?location={location}", location)
-            .retrieve()
-            .bodyToMono(WeatherData.class);
-        */
+        );
+    }
+
+    public ProviderResilience getResilience() {
+        return resilience;
     }
-}
\ No newline at end of file
+}
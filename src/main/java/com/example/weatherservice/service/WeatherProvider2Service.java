@@ -1,71 +1,110 @@
 package com.example.weatherservice.service;
 
+import com.example.weatherservice.config.ProviderClientFactory;
+import com.example.weatherservice.config.ProviderProperties;
 import com.example.weatherservice.model.WeatherForecast;
+import com.example.weatherservice.resilience.ProviderResilience;
+import com.example.weatherservice.resilience.ProviderResilienceFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 import java.time.LocalDate;
-import java.util.Arrays;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
-public class WeatherProvider2Service {
+public class WeatherProvider2Service implements ForecastProvider {
 
-    private final WebClient.Builder webClientBuilder;
+    private static final SimulatedDay[] SIMULATED_DAYS = {
+            new SimulatedDay(25.0, 15.0, "Sunny", 0.1),
+            new SimulatedDay(23.5, 14.0, "Partly Cloudy", 0.3),
+            new SimulatedDay(21.0, 13.5, "Rain", 0.7)
+    };
 
-    @Value("${api.weather.provider2.url:https://api.weatherprovider2.com}")
-    private String apiUrl;
+    private final ProviderProperties properties;
+    private final WebClient webClient;
+    private final RestClient restClient;
+    private final Scheduler blockingScheduler;
+    private final ProviderResilience resilience;
 
     @Autowired
-    public WeatherProvider2Service(WebClient.Builder webClientBuilder) {
-        this.webClientBuilder = webClientBuilder;
+    public WeatherProvider2Service(ProviderClientFactory clientFactory,
+                                   ProviderResilienceFactory resilienceFactory,
+                                   @Qualifier("provider2Properties") ProviderProperties properties) {
+        this.properties = properties;
+        if (properties.getClient() == ProviderProperties.ClientMode.BLOCKING) {
+            this.webClient = null;
+            this.restClient = clientFactory.createRestClient(properties);
+        } else {
+            this.webClient = clientFactory.createWebClient("provider2", properties);
+            this.restClient = null;
+        }
+        this.blockingScheduler = clientFactory.blockingScheduler();
+        this.resilience = resilienceFactory.create("provider2", properties);
     }
 
+    @Override
+    public String getName() {
+        return "provider2";
+    }
+
+    @Override
     public Mono<WeatherForecast> getForecast(String location, int days) {
-        // In a real implementation, this would call the external API
-        // For this example, we're simulating the response
+        if (properties.isSimulated()) {
+            return Mono.just(simulatedForecast(location, days));
+        }
 
-        // Mock forecast data
-        WeatherForecast.DailyForecast day1 = new WeatherForecast.DailyForecast(
-                LocalDate.now().plusDays(1),
-                25.0,
-                15.0,
-                "Sunny",
-                0.1
-        );
+        return resilience.execute(() -> fetch(location, days));
+    }
 
-        WeatherForecast.DailyForecast day2 = new WeatherForecast.DailyForecast(
-                LocalDate.now().plusDays(2),
-                23.5,
-                14.0,
-                "Partly Cloudy",
-                0.3
-        );
+    private Mono<WeatherForecast> fetch(String location, int days) {
+        if (restClient != null) {
+            // Blocking call, run on a virtual thread rather than the caller's thread
+            return Mono.fromCallable(() -> restClient.get()
+                            .uri("/forecast?location={location}&days={days}", location, days)
+                            .retrieve()
+                            .body(WeatherForecast.class))
+                    .subscribeOn(blockingScheduler);
+        }
 
-        WeatherForecast.DailyForecast day3 = new WeatherForecast.DailyForecast(
-                LocalDate.now().plusDays(3),
-                21.0,
-                13.5,
-                "Rain",
-                0.7
-        );
+        return webClient.get()
+                .uri("/forecast?location={location}&days={days}", location, days)
+                .retrieve()
+                .bodyToMono(WeatherForecast.class);
+    }
+
+    private WeatherForecast simulatedForecast(String location, int days) {
+        List<WeatherForecast.DailyForecast> forecasts = new ArrayList<>(days);
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        for (int day = 0; day < days; day++) {
+            // Cycles through the same three days of weather for any horizon
+            SimulatedDay template = SIMULATED_DAYS[day % SIMULATED_DAYS.length];
+            forecasts.add(new WeatherForecast.DailyForecast(
+                    today.plusDays(day + 1),
+                    template.highTemp(),
+                    template.lowTemp(),
+                    template.condition(),
+                    template.precipitationChance()
+            ));
+        }
 
-        // Create and return forecast
-        return Mono.just(new WeatherForecast(
+        return new WeatherForecast(
                 location,
-                Arrays.asList(day1, day2, day3),
+                forecasts,
                 "Provider2"
-        ));
+        );
+    }
+
+    public ProviderResilience getResilience() {
+        return resilience;
+    }
 
-        // Real implementation would look like this:
-        /*
-        return webClientBuilder.build()
-            .get()
-            .uri(apiUrl + "/forecast?location={location}&days={days}", location, days)
-            .retrieve()
-            .bodyToMono(WeatherForecast.class);
-        */
+    private record SimulatedDay(double highTemp, double lowTemp, String condition, double precipitationChance) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,172 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.metrics.MonoTimer;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Fans requests out to every registered provider in parallel.
+ * <p>
+ * Current conditions are merged from a quorum: the first {@code quorum}
+ * successful responses, or whatever has arrived within {@code deadline} of the
+ * first one. Numeric fields take the median, the condition takes the majority
+ * and {@code provider} lists every source that contributed. Forecasts are not
+ * merged; the first successful provider wins.
+ */
+@Component
+public class WeatherProviderRegistry {
+
+    static final String PROVIDER_SEPARATOR = ",";
+    static final String PROVIDER_TIMER = "weather.provider.requests";
+
+    private final List<CurrentWeatherProvider> currentWeatherProviders;
+    private final List<ForecastProvider> forecastProviders;
+    private final MeterRegistry meterRegistry;
+    private final int quorum;
+    private final Duration deadline;
+
+    @Autowired
+    public WeatherProviderRegistry(
+            List<CurrentWeatherProvider> currentWeatherProviders,
+            List<ForecastProvider> forecastProviders,
+            MeterRegistry meterRegistry,
+            @Value("${api.weather.quorum.size:2}") int quorum,
+            @Value("${api.weather.quorum.deadline:300ms}") Duration deadline
+    ) {
+        this.currentWeatherProviders = List.copyOf(currentWeatherProviders);
+        this.forecastProviders = List.copyOf(forecastProviders);
+        this.meterRegistry = meterRegistry;
+        this.quorum = Math.max(1, Math.min(quorum, currentWeatherProviders.size()));
+        this.deadline = deadline;
+    }
+
+    public Mono<WeatherData> getCurrentWeather(String location) {
+        if (currentWeatherProviders.size() == 1) {
+            return currentWeather(currentWeatherProviders.get(0), location);
+        }
+
+        return Mono.defer(() -> {
+            List<Throwable> failures = new CopyOnWriteArrayList<>();
+            return Flux.fromIterable(currentWeatherProviders)
+                    .flatMap(provider -> currentWeather(provider, location)
+                            .onErrorResume(error -> {
+                                failures.add(error);
+                                return Mono.empty();
+                            }))
+                    // Emits once the quorum is reached, or deadline after the first response
+                    .bufferTimeout(quorum, deadline)
+                    .next()
+                    .map(WeatherProviderRegistry::merge)
+                    .switchIfEmpty(Mono.defer(() -> failures.isEmpty()
+                            ? Mono.empty()
+                            : Mono.error(failures.get(0))));
+        });
+    }
+
+    public Mono<WeatherForecast> getForecast(String location, int days) {
+        if (forecastProviders.size() == 1) {
+            return forecast(forecastProviders.get(0), location, days);
+        }
+
+        return Mono.firstWithValue(forecastProviders.stream()
+                .map(provider -> forecast(provider, location, days))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Provider calls are timed individually; quorum responses that are no longer
+     * needed show up with outcome "cancelled".
+     */
+    private Mono<WeatherData> currentWeather(CurrentWeatherProvider provider, String location) {
+        return MonoTimer.time(provider.getCurrentWeather(location), meterRegistry, PROVIDER_TIMER,
+                Tags.of("provider", provider.getName(), "operation", "current"));
+    }
+
+    private Mono<WeatherForecast> forecast(ForecastProvider provider, String location, int days) {
+        return MonoTimer.time(provider.getForecast(location, days), meterRegistry, PROVIDER_TIMER,
+                Tags.of("provider", provider.getName(), "operation", "forecast"));
+    }
+
+    public List<String> getCurrentWeatherProviderNames() {
+        return currentWeatherProviders.stream().map(CurrentWeatherProvider::getName).collect(Collectors.toList());
+    }
+
+    public List<String> getForecastProviderNames() {
+        return forecastProviders.stream().map(ForecastProvider::getName).collect(Collectors.toList());
+    }
+
+    /**
+     * Combines responses for the same location into one reading.
+     */
+    static WeatherData merge(List<WeatherData> responses) {
+        if (responses.size() == 1) {
+            return responses.get(0);
+        }
+
+        return new WeatherData(
+                responses.get(0).getLocation(),
+                median(responses, WeatherData::getTemperature),
+                median(responses, WeatherData::getHumidity),
+                median(responses, WeatherData::getWindSpeed),
+                majorityCondition(responses),
+                responses.stream()
+                        .map(WeatherData::getTimestamp)
+                        .filter(Objects::nonNull)
+                        .max(Comparator.naturalOrder())
+                        .orElse(LocalDateTime.now(ZoneOffset.UTC)),
+                responses.stream()
+                        .map(WeatherData::getProvider)
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .sorted()
+                        .collect(Collectors.joining(PROVIDER_SEPARATOR))
+        );
+    }
+
+    private static double median(List<WeatherData> responses, ToDoubleFunction<WeatherData> field) {
+        double[] values = responses.stream().mapToDouble(field).sorted().toArray();
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    /**
+     * Most frequent condition; ties go to the one that arrived first.
+     */
+    private static String majorityCondition(List<WeatherData> responses) {
+        Map<String, Integer> votes = new LinkedHashMap<>();
+        for (WeatherData response : responses) {
+            if (response.getCondition() != null) {
+                votes.merge(response.getCondition(), 1, Integer::sum);
+            }
+        }
+
+        String winner = null;
+        int best = 0;
+        for (Map.Entry<String, Integer> vote : votes.entrySet()) {
+            if (vote.getValue() > best) {
+                winner = vote.getKey();
+                best = vote.getValue();
+            }
+        }
+        return winner;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.model.WeatherData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Live current-weather feeds for streaming clients.
+ * <p>
+ * Each location has at most one polling loop no matter how many clients watch
+ * it; the loop starts with the first subscriber and stops after the last one
+ * leaves. Only changed observations are pushed. Slow consumers receive the
+ * latest update instead of buffering every change.
+ */
+@Service
+public class WeatherStreamService {
+
+    private final WeatherAggregatorService weatherService;
+    private final Duration pollInterval;
+    private final ConcurrentMap<String, Flux<WeatherData>> feeds = new ConcurrentHashMap<>();
+
+    @Autowired
+    public WeatherStreamService(
+            WeatherAggregatorService weatherService,
+            @Value("${api.weather.stream.poll-interval:30s}") Duration pollInterval) {
+        this.weatherService = weatherService;
+        this.pollInterval = pollInterval;
+    }
+
+    public Flux<WeatherData> stream(Collection<String> locations) {
+        Map<String, String> uniqueLocations = new LinkedHashMap<>();
+        for (String location : locations) {
+            uniqueLocations.putIfAbsent(WeatherAggregatorService.normalizeLocation(location), location);
+        }
+
+        List<Flux<WeatherData>> subscriptions = uniqueLocations.entrySet().stream()
+                .map(entry -> feed(entry.getKey(), entry.getValue()).onBackpressureLatest())
+                .toList();
+        return Flux.merge(subscriptions);
+    }
+
+    private Flux<WeatherData> feed(String key, String location) {
+        return Flux.defer(() -> feeds.computeIfAbsent(key, k -> newFeed(k, location)));
+    }
+
+    private Flux<WeatherData> newFeed(String key, String location) {
+        AtomicReference<Flux<WeatherData>> self = new AtomicReference<>();
+        Flux<WeatherData> feed = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> weatherService.getCurrentWeather(location)
+                        // A failed poll keeps the feed alive; the next tick tries again
+                        .onErrorResume(error -> Mono.empty()))
+                .distinctUntilChanged(WeatherStreamService::observation)
+                // A new subscriber may already have registered a fresh feed under the key
+                .doFinally(signal -> feeds.remove(key, self.get()))
+                .replay(1)
+                .refCount();
+        self.set(feed);
+        return feed;
+    }
+
+    /**
+     * The fields that make an update worth pushing; timestamps alone do not.
+     */
+    private static List<Object> observation(WeatherData data) {
+        return Arrays.asList(data.getTemperature(), data.getHumidity(), data.getWindSpeed(), data.getCondition());
+    }
+
+    public int activeFeedCount() {
+        return feeds.size();
+    }
+}
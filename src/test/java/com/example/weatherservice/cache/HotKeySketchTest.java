@@ -0,0 +1,82 @@
+package com.example.weatherservice.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HotKeySketchTest {
+
+    @Test
+    void top_ShouldReturnMostFrequentKeysFirst() {
+        // Arrange
+        HotKeySketch<String> sketch = new HotKeySketch<>(2, 256);
+        record(sketch, "london", 50);
+        record(sketch, "paris", 20);
+        record(sketch, "rome", 5);
+
+        // Act & Assert
+        assertEquals(Arrays.asList("london", "paris"), sketch.top(10));
+        assertEquals(Collections.singletonList("london"), sketch.top(1));
+        assertTrue(sketch.estimate("london") >= 50);
+    }
+
+    @Test
+    void record_ShouldLetNewlyHotKeyDisplaceColdOne() {
+        // Arrange
+        HotKeySketch<String> sketch = new HotKeySketch<>(2, 256);
+        record(sketch, "london", 10);
+        record(sketch, "paris", 3);
+
+        // Act
+        record(sketch, "tokyo", 8);
+
+        // Assert
+        assertEquals(Arrays.asList("london", "tokyo"), sketch.top(10));
+    }
+
+    @Test
+    void decay_ShouldDropKeysThatAreNoLongerRequested() {
+        // Arrange
+        HotKeySketch<String> sketch = new HotKeySketch<>(10, 256);
+        record(sketch, "london", 1);
+        record(sketch, "paris", 8);
+
+        // Act
+        sketch.decay();
+
+        // Assert
+        assertEquals(Collections.singletonList("paris"), sketch.top(10));
+        assertEquals(4, sketch.estimate("paris"));
+    }
+
+    @Test
+    void record_ShouldCountEveryRequestUnderConcurrentLoad() throws InterruptedException {
+        // Arrange
+        HotKeySketch<String> sketch = new HotKeySketch<>(2, 256);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> record(sketch, "london", 10_000));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(80_000, sketch.estimate("london"));
+        assertEquals(Collections.singletonList("london"), sketch.top(10));
+    }
+
+    private static void record(HotKeySketch<String> sketch, String key, int times) {
+        for (int i = 0; i < times; i++) {
+            sketch.record(key);
+        }
+    }
+}
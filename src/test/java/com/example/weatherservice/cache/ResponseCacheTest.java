@@ -0,0 +1,238 @@
+package com.example.weatherservice.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseCacheTest {
+
+    @Test
+    void get_ShouldLoadOnceAndServeHitsFromCache() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>("test", Duration.ofMinutes(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(cache.get("london", key -> {
+                        loads.incrementAndGet();
+                        return Mono.just("value-" + key);
+                    }))
+                    .expectNext("value-london")
+                    .verifyComplete();
+        }
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    void lookup_ShouldShareEncodedFormsAcrossHitsOnSameEntry() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>("test", Duration.ofMinutes(1), 10);
+        AtomicInteger encodes = new AtomicInteger();
+        Function<String, byte[]> encoder = value -> {
+            encodes.incrementAndGet();
+            return value.getBytes(StandardCharsets.UTF_8);
+        };
+
+        // Act
+        byte[] first = cache.lookup("london", key -> Mono.just("value")).block().encoded("text", encoder);
+        byte[] second = cache.lookup("london", key -> Mono.just("value")).block().encoded("text", encoder);
+
+        // Assert
+        assertSame(first, second);
+        assertEquals(1, encodes.get());
+    }
+
+    @Test
+    void view_ShouldMemoizeEncodingsPerViewOnTheSameEntry() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>("test", Duration.ofMinutes(1), 10);
+        cache.get("london", key -> Mono.just("value")).block();
+
+        // Act
+        Cached<String> prefix = cache.lookup("london", key -> Mono.empty()).block()
+                .view("prefix=2", value -> value.substring(0, 2));
+        byte[] first = prefix.encoded("text", value -> value.getBytes(StandardCharsets.UTF_8));
+        byte[] second = cache.lookup("london", key -> Mono.empty()).block()
+                .view("prefix=2", value -> value.substring(0, 2))
+                .encoded("text", value -> value.getBytes(StandardCharsets.UTF_8));
+        byte[] whole = cache.lookup("london", key -> Mono.empty()).block()
+                .encoded("text", value -> value.getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertSame(first, second);
+        assertEquals("va", new String(first, StandardCharsets.UTF_8));
+        assertEquals("value", new String(whole, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void bindTo_ShouldPublishHitMissAndInFlightMeters() {
+        // Arrange
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ResponseCache<String, String> cache = new ResponseCache<>("test", Duration.ofMinutes(1), 10);
+        cache.bindTo(registry);
+
+        // Act
+        cache.get("london", key -> Mono.just("value")).block();
+        cache.get("london", key -> Mono.just("value")).block();
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "test", "result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "test", "result", "miss").functionCounter().count());
+        assertEquals(0.0, registry.get("weather.cache.loads.in.flight").tag("cache", "test").gauge().value());
+    }
+
+    @Test
+    void get_ShouldNotCacheErrors() {
+        // Arrange
+        ResponseCache<String, String> cache = new ResponseCache<>("test", Duration.ofMinutes(1), 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(cache.get("paris", key -> {
+                    loads.incrementAndGet();
+                    return Mono.error(new IllegalStateException("upstream down"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(cache.get("paris", key -> {
+                    loads.incrementAndGet();
+                    return Mono.just("sunny");
+                }))
+                .expectNext("sunny")
+                .verifyComplete();
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldEvictWhenMaximumSizeExceeded() {
+        // Arrange
+        ResponseCache<Integer, Integer> cache = new ResponseCache<>("test", Duration.ofMinutes(1), 5);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            cache.get(i, Mono::just).block();
+        }
+        cache.cleanUp();
+
+        // Assert
+        assertEquals(5, cache.size());
+        assertEquals(45, cache.stats().evictionCount());
+    }
+
+    @Test
+    void lookup_ShouldServeStaleValueAndRefreshInBackground() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+        ResponseCache<String, String> cache = new ResponseCache<>(
+                "test", Duration.ofMinutes(5), Duration.ofMinutes(10), 10, null, clock);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.lookup("oslo", key -> Mono.just("snow-" + loads.incrementAndGet())).block();
+        clock.advance(Duration.ofMinutes(6));
+
+        // Act
+        Cached<String> stale = cache.lookup("oslo",
+                key -> Mono.just("snow-" + loads.incrementAndGet())).block();
+        Cached<String> refreshed = cache.lookup("oslo",
+                key -> Mono.just("snow-" + loads.incrementAndGet())).block();
+
+        // Assert
+        assertTrue(stale.isStale());
+        assertEquals("snow-1", stale.getValue());
+        assertFalse(refreshed.isStale());
+        assertEquals("snow-2", refreshed.getValue());
+        assertEquals(1, cache.staleHitCount());
+    }
+
+    @Test
+    void lookup_ShouldReloadSynchronouslyOnceMaxStaleIsExceeded() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+        ResponseCache<String, String> cache = new ResponseCache<>(
+                "test", Duration.ofMinutes(5), Duration.ofMinutes(10), 10, null, clock);
+
+        cache.lookup("oslo", key -> Mono.just("old")).block();
+        clock.advance(Duration.ofMinutes(16));
+
+        // Act
+        Cached<String> result = cache.lookup("oslo", key -> Mono.just("new")).block();
+
+        // Assert
+        assertFalse(result.isStale());
+        assertEquals("new", result.getValue());
+    }
+
+    @Test
+    void restore_ShouldKeepOriginalFetchTimeAndSkipExpiredOrOlderEntries() {
+        // Arrange
+        MutableClock clock = new MutableClock(Instant.parse("2024-01-01T12:00:00Z"));
+        ResponseCache<String, String> cache = new ResponseCache<>(
+                "test", Duration.ofMinutes(5), Duration.ofMinutes(10), 10, null, clock);
+        cache.lookup("oslo", key -> Mono.just("loaded")).block();
+
+        // Act
+        boolean restoredFresh = cache.restore("paris", "snapshot", clock.instant().minus(Duration.ofMinutes(2)));
+        boolean restoredExpired = cache.restore("rome", "snapshot", clock.instant().minus(Duration.ofMinutes(20)));
+        boolean restoredOlder = cache.restore("oslo", "snapshot", clock.instant().minus(Duration.ofMinutes(1)));
+
+        // Assert
+        assertTrue(restoredFresh);
+        assertFalse(restoredExpired);
+        assertFalse(restoredOlder);
+        assertEquals("loaded", cache.get("oslo", key -> Mono.just("unused")).block());
+
+        clock.advance(Duration.ofMinutes(4));
+        Cached<String> paris = cache.lookup("paris", key -> Mono.just("refreshed")).block();
+        assertTrue(paris.isStale());
+        assertEquals("snapshot", paris.getValue());
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
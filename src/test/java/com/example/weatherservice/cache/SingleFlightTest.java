@@ -0,0 +1,63 @@
+package com.example.weatherservice.cache;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SingleFlightTest {
+
+    @Test
+    void execute_ShouldShareOneUpstreamCallBetweenConcurrentCallers() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        Sinks.One<String> upstream = Sinks.one();
+        AtomicInteger subscriptions = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            singleFlight.execute("london", () -> upstream.asMono()
+                            .doOnSubscribe(s -> subscriptions.incrementAndGet()))
+                    .subscribe(results::add);
+        }
+        assertEquals(1, singleFlight.inFlightCount());
+        upstream.tryEmitValue("rain");
+
+        // Assert
+        assertEquals(1, subscriptions.get());
+        assertEquals(10, results.size());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+
+    @Test
+    void execute_ShouldClearKeyAfterError() {
+        // Arrange
+        SingleFlight<String, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(singleFlight.execute("paris", () -> {
+                    calls.incrementAndGet();
+                    return Mono.error(new IllegalStateException("upstream down"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        StepVerifier.create(singleFlight.execute("paris", () -> {
+                    calls.incrementAndGet();
+                    return Mono.just("sunny");
+                }))
+                .expectNext("sunny")
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(0, singleFlight.inFlightCount());
+    }
+}
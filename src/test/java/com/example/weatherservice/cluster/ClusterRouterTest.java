@@ -0,0 +1,125 @@
+package com.example.weatherservice.cluster;
+
+import com.example.weatherservice.cache.Cached;
+import com.example.weatherservice.model.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClusterRouterTest {
+
+    private static final String SELF = "http://localhost:8081";
+    private static final String PEER = "http://localhost:8082";
+
+    private ClusterMembership membership;
+    private PeerWeatherClient peerClient;
+    private ClusterRouter router;
+    private AtomicInteger localLookups;
+    private String peerLocation;
+    private String localLocation;
+
+    @BeforeEach
+    void setUp() {
+        membership = new ClusterMembership(true, SELF, List.of(PEER), "", 64, Duration.ofSeconds(30));
+        peerClient = mock(PeerWeatherClient.class);
+        router = new ClusterRouter(membership, peerClient, Duration.ofSeconds(10), Duration.ZERO, 100);
+        localLookups = new AtomicInteger();
+        peerLocation = IntStream.range(0, 100).mapToObj(i -> "city " + i)
+                .filter(location -> PEER.equals(membership.ownerOf(location)))
+                .findFirst().orElseThrow();
+        localLocation = IntStream.range(0, 100).mapToObj(i -> "city " + i)
+                .filter(location -> membership.ownerOf(location) == null)
+                .findFirst().orElseThrow();
+    }
+
+    @Test
+    void lookupCurrentWeather_ShouldFetchFromOwnerOnceAndKeepInNearCache() {
+        // Arrange
+        WeatherData remote = weather(peerLocation, "Provider1");
+        when(peerClient.getCurrentWeather(PEER, peerLocation)).thenReturn(Mono.just(remote));
+
+        // Act & Assert
+        StepVerifier.create(router.lookupCurrentWeather(peerLocation, peerLocation, local(peerLocation)).map(Cached::getValue))
+                .expectNext(remote)
+                .verifyComplete();
+        StepVerifier.create(router.lookupCurrentWeather(peerLocation, peerLocation, local(peerLocation)).map(Cached::getValue))
+                .expectNext(remote)
+                .verifyComplete();
+        verify(peerClient, times(1)).getCurrentWeather(PEER, peerLocation);
+        assertEquals(0, localLookups.get());
+        assertEquals(1, router.peerLookupCount());
+    }
+
+    @Test
+    void lookupCurrentWeather_ShouldServeOwnedLocationsLocally() {
+        // Act & Assert
+        StepVerifier.create(router.lookupCurrentWeather(localLocation, localLocation, local(localLocation)))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(peerClient, never()).getCurrentWeather(anyString(), anyString());
+        assertEquals(1, localLookups.get());
+    }
+
+    @Test
+    void lookupCurrentWeather_ShouldServeForwardedLookupsLocally() {
+        // Act & Assert
+        StepVerifier.create(router.lookupCurrentWeather(peerLocation, peerLocation, local(peerLocation))
+                        .contextWrite(ClusterRouter::markForwarded))
+                .expectNextCount(1)
+                .verifyComplete();
+        verify(peerClient, never()).getCurrentWeather(anyString(), anyString());
+        assertEquals(1, localLookups.get());
+    }
+
+    @Test
+    void lookupCurrentWeather_ShouldFallBackToLocalWhenOwnerFails() {
+        // Arrange
+        when(peerClient.getCurrentWeather(PEER, peerLocation)).thenReturn(Mono.error(new IOException("refused")));
+
+        // Act & Assert
+        StepVerifier.create(router.lookupCurrentWeather(peerLocation, peerLocation, local(peerLocation)).map(Cached::getValue))
+                .expectNextMatches(data -> "Local".equals(data.getProvider()))
+                .verifyComplete();
+        assertEquals(1, router.peerFailureCount());
+    }
+
+    @Test
+    void standalone_ShouldAlwaysServeLocally() {
+        // Arrange
+        ClusterRouter standalone = ClusterRouter.standalone();
+
+        // Act & Assert
+        StepVerifier.create(standalone.lookupCurrentWeather(peerLocation, peerLocation, local(peerLocation)))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(1, localLookups.get());
+    }
+
+    private Mono<Cached<WeatherData>> local(String location) {
+        return Mono.fromSupplier(() -> {
+            localLookups.incrementAndGet();
+            return new Cached<>(weather(location, "Local"), Instant.now(), false);
+        });
+    }
+
+    private static WeatherData weather(String location, String provider) {
+        return new WeatherData(location, 20.0, 50.0, 5.0, "Sunny", LocalDateTime.now(), provider);
+    }
+}
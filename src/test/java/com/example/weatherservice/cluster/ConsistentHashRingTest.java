@@ -0,0 +1,77 @@
+package com.example.weatherservice.cluster;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+
+    @Test
+    void owner_ShouldSpreadKeysEvenlyAcrossNodes() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        // Act
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(ring.owner("location-" + i), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > 7_000 && count < 13_000, "share " + count));
+    }
+
+    @Test
+    void owner_ShouldOnlyMoveKeysToAnAddedNode() {
+        // Arrange
+        ConsistentHashRing before = new ConsistentHashRing(NODES, 128);
+        ConsistentHashRing after = new ConsistentHashRing(List.of(
+                "http://a:8080", "http://b:8080", "http://c:8080", "http://d:8080"), 128);
+        int moved = 0;
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            String key = "location-" + i;
+            String oldOwner = before.owner(key);
+            String newOwner = after.owner(key);
+            if (!oldOwner.equals(newOwner)) {
+                assertEquals("http://d:8080", newOwner);
+                moved++;
+            }
+        }
+
+        // Assert
+        assertTrue(moved > 1_500 && moved < 3_500, "moved " + moved);
+    }
+
+    @Test
+    void owner_ShouldNotDependOnNodeOrder() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(NODES, 64);
+        ConsistentHashRing reordered = new ConsistentHashRing(List.of(
+                "http://c:8080", "http://a:8080", "http://b:8080"), 64);
+
+        // Act & Assert
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(ring.owner("location-" + i), reordered.owner("location-" + i));
+        }
+    }
+
+    @Test
+    void owner_ShouldReturnNullForEmptyRing() {
+        // Arrange
+        ConsistentHashRing ring = new ConsistentHashRing(List.of(), 16);
+
+        // Act & Assert
+        assertNull(ring.owner("london"));
+    }
+}
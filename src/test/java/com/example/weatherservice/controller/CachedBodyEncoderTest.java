@@ -0,0 +1,112 @@
+package com.example.weatherservice.controller;
+
+import com.example.weatherservice.cache.Cached;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CachedBodyEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private final Cached<WeatherData> cached = new Cached<>(new WeatherData(
+            "London", 18.0, 70.0, 12.0, "Rain", LocalDateTime.now(), "Provider1"), Instant.now(), false);
+
+    @Test
+    void encode_ShouldEncodeOncePerCachedValue() throws IOException {
+        // Arrange
+        CachedBodyEncoder encoder = new CachedBodyEncoder(objectMapper, 1024);
+
+        // Act
+        byte[] first = encoder.encode(cached, ResponseFormat.JSON);
+        byte[] second = encoder.encode(cached, ResponseFormat.JSON);
+
+        // Assert
+        assertSame(first, second);
+        assertArrayEquals(objectMapper.writeValueAsBytes(cached.getValue()), first);
+    }
+
+    @Test
+    void gzip_ShouldCompressBodiesAboveMinimumSize() throws IOException {
+        // Arrange
+        CachedBodyEncoder encoder = new CachedBodyEncoder(objectMapper, 0);
+
+        // Act
+        byte[] gzipped = encoder.gzip(cached, ResponseFormat.JSON);
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertArrayEquals(encoder.encode(cached, ResponseFormat.JSON), in.readAllBytes());
+        }
+        assertSame(gzipped, encoder.gzip(cached, ResponseFormat.JSON));
+    }
+
+    @Test
+    void gzip_ShouldSkipSmallBodies() {
+        // Arrange
+        CachedBodyEncoder encoder = new CachedBodyEncoder(objectMapper, 1024);
+
+        // Act & Assert
+        assertNull(encoder.gzip(cached, ResponseFormat.JSON));
+    }
+
+    @Test
+    void etag_ShouldDifferPerFormat() {
+        // Arrange
+        CachedBodyEncoder encoder = new CachedBodyEncoder(objectMapper, 1024);
+
+        // Act & Assert
+        assertNotEquals(encoder.etag(cached, ResponseFormat.JSON), encoder.etag(cached, ResponseFormat.CBOR));
+        assertEquals(encoder.etag(cached, ResponseFormat.SMILE), encoder.etag(cached, ResponseFormat.SMILE));
+    }
+
+    @Test
+    void allFormats_ShouldRoundTripForecastAndBinaryFormatsShouldBeSmaller() throws IOException {
+        // Arrange
+        CachedBodyEncoder encoder = new CachedBodyEncoder(objectMapper, 1024);
+        List<WeatherForecast.DailyForecast> days = new ArrayList<>();
+        for (int i = 1; i <= 16; i++) {
+            days.add(new WeatherForecast.DailyForecast(
+                    LocalDate.now().plusDays(i), 20.0 + i * 0.37, 10.0 + i * 0.21, "Partly Cloudy", i / 20.0));
+        }
+        WeatherForecast forecast = new WeatherForecast("London", days, "Provider2");
+        Map<ResponseFormat, Integer> sizes = new EnumMap<>(ResponseFormat.class);
+
+        for (ResponseFormat format : ResponseFormat.values()) {
+            // Act
+            ObjectMapper mapper = encoder.mapper(format);
+            byte[] bytes = mapper.writeValueAsBytes(forecast);
+            WeatherForecast decoded = mapper.readValue(bytes, WeatherForecast.class);
+            sizes.put(format, bytes.length);
+
+            // Assert
+            assertEquals(16, decoded.getDailyForecasts().size());
+            assertEquals(forecast.getDailyForecasts().get(15).getDate(), decoded.getDailyForecasts().get(15).getDate());
+        }
+        assertTrue(sizes.get(ResponseFormat.CBOR) < sizes.get(ResponseFormat.JSON));
+        assertTrue(sizes.get(ResponseFormat.SMILE) < sizes.get(ResponseFormat.JSON));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.weatherservice.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitWebFilterTest {
+
+    private final ConcurrencyLimitWebFilter filter =
+            new ConcurrencyLimitWebFilter(true, 100, 10, 1000, Duration.ofSeconds(1));
+
+    @Test
+    void filter_ShouldNotBackOffOnClientErrors() {
+        // Arrange
+        WebFilterChain badRequest = exchange ->
+                Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "location must not be blank"));
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(filter.filter(exchange(), badRequest))
+                    .expectError(ResponseStatusException.class)
+                    .verify();
+        }
+
+        // Assert
+        assertEquals(100, filter.getLimiter().getLimit());
+        assertEquals(0, filter.getLimiter().getInFlight());
+    }
+
+    @Test
+    void filter_ShouldNotBackOffOnClientErrorResponses() {
+        // Arrange
+        WebFilterChain notFound = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.NOT_FOUND);
+            return Mono.empty();
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange(), notFound)).verifyComplete();
+
+        // Assert
+        assertEquals(100, filter.getLimiter().getLimit());
+        assertEquals(0, filter.getLimiter().getInFlight());
+    }
+
+    @Test
+    void filter_ShouldBackOffOnTimeoutsAndServerErrors() {
+        // Arrange
+        WebFilterChain timeout = exchange -> Mono.error(new TimeoutException());
+        WebFilterChain unavailable = exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        };
+
+        // Act
+        StepVerifier.create(filter.filter(exchange(), timeout)).expectError(TimeoutException.class).verify();
+        int limitAfterTimeout = filter.getLimiter().getLimit();
+        StepVerifier.create(filter.filter(exchange(), unavailable)).verifyComplete();
+
+        // Assert
+        assertTrue(limitAfterTimeout < 100);
+        assertTrue(filter.getLimiter().getLimit() < limitAfterTimeout);
+        assertEquals(0, filter.getLimiter().getInFlight());
+    }
+
+    @Test
+    void filter_ShouldNotBackOffWhenProviderIsUnavailable() {
+        // Arrange
+        WebFilterChain circuitOpen = exchange -> {
+            exchange.getAttributes().put(ProviderUnavailableHandler.PROVIDER_UNAVAILABLE, Boolean.TRUE);
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            return Mono.empty();
+        };
+
+        // Act
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(filter.filter(exchange(), circuitOpen)).verifyComplete();
+        }
+
+        // Assert
+        assertEquals(100, filter.getLimiter().getLimit());
+        assertEquals(0, filter.getLimiter().getInFlight());
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/weather/current?location=London"));
+    }
+}
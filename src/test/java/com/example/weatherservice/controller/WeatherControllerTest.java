@@ -1,21 +1,45 @@
 package com.example.weatherservice.controller;
 
+import com.example.weatherservice.cache.Cached;
 import com.example.weatherservice.model.WeatherData;
 import com.example.weatherservice.model.WeatherForecast;
+import com.example.weatherservice.model.BatchWeatherRequest;
+import com.example.weatherservice.model.BatchWeatherResponse;
+import com.example.weatherservice.model.LocationWeatherResult;
 import com.example.weatherservice.service.WeatherAggregatorService;
+import com.example.weatherservice.service.WeatherBatchService;
+import com.example.weatherservice.service.WeatherHistoryService;
+import com.example.weatherservice.service.WeatherStreamService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(WeatherController.class)
@@ -27,6 +51,15 @@ class WeatherControllerTest {
     @MockBean
     private WeatherAggregatorService weatherService;
 
+    @MockBean
+    private WeatherBatchService batchService;
+
+    @MockBean
+    private WeatherStreamService streamService;
+
+    @MockBean
+    private WeatherHistoryService historyService;
+
     @Test
     void getCurrentWeather_ShouldReturnWeatherData() {
         // Arrange
@@ -36,8 +69,8 @@ class WeatherControllerTest {
                 LocalDateTime.now(), "Provider1"
         );
 
-        when(weatherService.getCurrentWeather(anyString()))
-                .thenReturn(Mono.just(mockWeatherData));
+        when(weatherService.lookupCurrentWeather(anyString()))
+                .thenReturn(Mono.just(new Cached<>(mockWeatherData, Instant.now(), false)));
 
         // Act & Assert
         webTestClient.get()
@@ -53,6 +86,128 @@ class WeatherControllerTest {
                 .jsonPath("$.provider").isEqualTo("Provider1");
     }
 
+    @Test
+    void getCurrentWeather_ShouldMarkStaleResponses() {
+        // Arrange
+        String location = "New York";
+        WeatherData mockWeatherData = new WeatherData(
+                location, 22.5, 65.0, 10.2, "Partly Cloudy",
+                LocalDateTime.now().minusMinutes(7), "Provider1"
+        );
+
+        when(weatherService.lookupCurrentWeather(anyString()))
+                .thenReturn(Mono.just(new Cached<>(mockWeatherData, Instant.now().minusSeconds(420), true)));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/api/weather/current")
+                        .queryParam("location", location)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.WARNING, WeatherController.STALE_WARNING)
+                .expectBody()
+                .jsonPath("$.location").isEqualTo(location);
+    }
+
+    @Test
+    void getCurrentWeather_ShouldAnswerMatchingIfNoneMatchWithNotModified() {
+        // Arrange
+        WeatherData mockWeatherData = new WeatherData(
+                "New York", 22.5, 65.0, 10.2, "Partly Cloudy",
+                LocalDateTime.now(), "Provider1"
+        );
+        Instant fetchedAt = Instant.now();
+        when(weatherService.lookupCurrentWeather(anyString()))
+                .thenReturn(Mono.just(new Cached<>(mockWeatherData, fetchedAt, fetchedAt.plusSeconds(300), false)));
+
+        String etag = webTestClient.get()
+                .uri("/api/weather/current?location=New York")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().value(HttpHeaders.CACHE_CONTROL, value -> assertTrue(value.startsWith("max-age=")))
+                .returnResult(byte[].class)
+                .getResponseHeaders()
+                .getETag();
+
+        // Act & Assert
+        assertNotNull(etag);
+        webTestClient.get()
+                .uri("/api/weather/current?location=New York")
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void getCurrentWeather_ShouldNegotiateCbor() throws IOException {
+        // Arrange
+        WeatherData mockWeatherData = new WeatherData(
+                "New York", 22.5, 65.0, 10.2, "Partly Cloudy",
+                LocalDateTime.now(), "Provider1"
+        );
+        when(weatherService.lookupCurrentWeather(anyString()))
+                .thenReturn(Mono.just(new Cached<>(mockWeatherData, Instant.now(), false)));
+
+        // Act
+        byte[] body = webTestClient.get()
+                .uri("/api/weather/current?location=New York")
+                .accept(MediaType.APPLICATION_CBOR)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        // Assert
+        JsonNode decoded = new CBORMapper().readTree(body);
+        assertEquals("New York", decoded.get("location").asText());
+        assertEquals(22.5, decoded.get("temperature").asDouble());
+    }
+
+    @Test
+    void getCurrentWeather_ShouldRejectUnsupportedAcceptWithNotAcceptable() {
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/weather/current?location=New York")
+                .accept(MediaType.APPLICATION_XML)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.NOT_ACCEPTABLE);
+    }
+
+    @Test
+    void getHistory_ShouldReturnObservationsInRange() {
+        // Arrange
+        LocalDateTime from = LocalDateTime.of(2024, 6, 1, 0, 0);
+        LocalDateTime to = LocalDateTime.of(2024, 6, 2, 0, 0);
+        WeatherData observation = new WeatherData(
+                "london", 18.0, 70.0, 12.0, "Rain", LocalDateTime.of(2024, 6, 1, 12, 0), "Provider1"
+        );
+        when(historyService.getHistory("London", from, to)).thenReturn(Flux.just(observation));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/weather/history?location=London&from=2024-06-01T00:00:00&to=2024-06-02T00:00:00")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].temperature").isEqualTo(18.0)
+                .jsonPath("$[0].condition").isEqualTo("Rain");
+    }
+
+    @Test
+    void getHistory_ShouldRejectInvertedRange() {
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/weather/history?location=London&from=2024-06-02T00:00:00&to=2024-06-01T00:00:00")
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     void getForecast_ShouldReturnWeatherForecast() {
         // Arrange
@@ -67,8 +222,8 @@ class WeatherControllerTest {
                 location, Arrays.asList(day1), "Provider2"
         );
 
-        when(weatherService.getForecast(anyString(), anyInt()))
-                .thenReturn(Mono.just(mockForecast));
+        when(weatherService.lookupForecast(anyString(), anyInt()))
+                .thenReturn(Mono.just(new Cached<>(mockForecast, Instant.now(), false)));
 
         // Act & Assert
         webTestClient.get()
@@ -85,6 +240,48 @@ class WeatherControllerTest {
                 .jsonPath("$.dailyForecasts[0].highTemp").isEqualTo(25.0);
     }
 
+    @Test
+    void getForecast_ShouldGzipWhenClientAcceptsIt() {
+        // Arrange
+        when(weatherService.lookupForecast(anyString(), anyInt()))
+                .thenReturn(Mono.just(new Cached<>(longForecast("New York"), Instant.now(), false)));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/weather/forecast?location=New York&days=10")
+                .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    @Test
+    void getForecast_ShouldNotGzipWhenClientRefusesIt() {
+        // Arrange
+        when(weatherService.lookupForecast(anyString(), anyInt()))
+                .thenReturn(Mono.just(new Cached<>(longForecast("New York"), Instant.now(), false)));
+
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/weather/forecast?location=New York&days=10")
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *;q=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.CONTENT_ENCODING)
+                .expectBody()
+                .jsonPath("$.location").isEqualTo("New York");
+    }
+
+    @Test
+    void getForecast_ShouldRejectHorizonBeyondMaximum() {
+        // Act & Assert
+        webTestClient.get()
+                .uri("/api/weather/forecast?location=London&days=30")
+                .exchange()
+                .expectStatus().isBadRequest();
+        verify(weatherService, never()).lookupForecast(anyString(), anyInt());
+    }
+
     @Test
     void getWeatherReport_ShouldReturnCombinedReport() {
         // Arrange
@@ -107,8 +304,8 @@ class WeatherControllerTest {
         WeatherAggregatorService.WeatherReport mockReport =
                 new WeatherAggregatorService.WeatherReport(mockWeatherData, mockForecast);
 
-        when(weatherService.getFullWeatherReport(anyString(), anyInt()))
-                .thenReturn(Mono.just(mockReport));
+        when(weatherService.lookupFullWeatherReport(anyString(), anyInt()))
+                .thenReturn(Mono.just(new Cached<>(mockReport, Instant.now(), false)));
 
         // Act & Assert
         webTestClient.get()
@@ -124,4 +321,53 @@ class WeatherControllerTest {
                 .jsonPath("$.currentWeather.provider").isEqualTo("Provider1")
                 .jsonPath("$.forecast.provider").isEqualTo("Provider2");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCurrentWeatherBatch_ShouldReturnPerLocationResults() {
+        // Arrange
+        WeatherData london = new WeatherData(
+                "London", 18.0, 70.0, 12.0, "Rain", LocalDateTime.now(), "Provider1"
+        );
+        BatchWeatherResponse mockResponse = new BatchWeatherResponse(Arrays.asList(
+                LocationWeatherResult.success("London", london),
+                LocationWeatherResult.failure("Atlantis", "upstream returned 404")
+        ));
+
+        when(batchService.getMaxLocations()).thenReturn(500);
+        when(batchService.getCurrentWeather(anyList())).thenReturn(Mono.just(mockResponse));
+
+        // Act & Assert
+        webTestClient.post()
+                .uri("/api/weather/current/batch")
+                .bodyValue(new BatchWeatherRequest(Arrays.asList("London", "Atlantis", "london")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.results.length()").isEqualTo(2)
+                .jsonPath("$.results[0].weather.temperature").isEqualTo(18.0)
+                .jsonPath("$.results[1].location").isEqualTo("Atlantis")
+                .jsonPath("$.results[1].error").isEqualTo("upstream returned 404");
+    }
+
+    @Test
+    void getCurrentWeatherBatch_ShouldRejectEmptyRequest() {
+        // Arrange
+        when(batchService.getMaxLocations()).thenReturn(500);
+
+        // Act & Assert
+        webTestClient.post()
+                .uri("/api/weather/current/batch")
+                .bodyValue(new BatchWeatherRequest(Collections.emptyList()))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    // Large enough to clear the default gzip-min-size
+    private static WeatherForecast longForecast(String location) {
+        List<WeatherForecast.DailyForecast> days = new ArrayList<>();
+        for (int day = 1; day <= 20; day++) {
+            days.add(new WeatherForecast.DailyForecast(LocalDate.now().plusDays(day), 25.0, 15.0, "Sunny", 0.1));
+        }
+        return new WeatherForecast(location, days, "Provider2");
+    }
+}
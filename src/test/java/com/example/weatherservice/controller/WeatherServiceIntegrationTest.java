@@ -1,20 +1,21 @@
 package com.example.weatherservice;
 
+import com.example.weatherservice.cache.ResponseCache;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
-import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.context.TestConfiguration;
-import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
+import java.util.List;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 
@@ -22,18 +23,35 @@ import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMoc
 @ActiveProfiles("test")
 class WeatherServiceIntegrationTest {
 
+    private static final WireMockServer wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
+
     @Autowired
     private WebTestClient webTestClient;
 
-    private WireMockServer wireMockServer;
+    @Autowired
+    private List<ResponseCache<?, ?>> responseCaches;
+
+    @DynamicPropertySource
+    static void providerProperties(DynamicPropertyRegistry registry) {
+        if (!wireMockServer.isRunning()) {
+            wireMockServer.start();
+        }
+
+        // Point both providers at the WireMock server instead of canned data
+        registry.add("api.weather.provider1.url", () -> "http://localhost:" + wireMockServer.port() + "/provider1");
+        registry.add("api.weather.provider1.simulated", () -> "false");
+        registry.add("api.weather.provider2.url", () -> "http://localhost:" + wireMockServer.port() + "/provider2");
+        registry.add("api.weather.provider2.simulated", () -> "false");
+    }
 
     @BeforeEach
     void setup() {
-        wireMockServer = new WireMockServer(wireMockConfig().dynamicPort());
-        wireMockServer.start();
-
+        wireMockServer.resetAll();
         configureFor("localhost", wireMockServer.port());
 
+        // Every test must reach the upstream, not a response cached by an earlier one
+        responseCaches.forEach(ResponseCache::invalidateAll);
+
         // Configure mock for provider 1
         stubFor(WireMock.get(urlPathMatching("/provider1/current.*"))
                 .willReturn(aResponse()
@@ -49,17 +67,11 @@ class WeatherServiceIntegrationTest {
                         .withHeader("Content-Type", MediaType.APPLICATION_JSON_VALUE)
                         .withBody("{\"location\":\"New York\",\"dailyForecasts\":[{\"date\":\"2023-11-29\",\"highTemp\":25.0,\"lowTemp\":15.0,\"condition\":\"Sunny\",\"precipitationChance\":0.1}],\"provider\":\"Provider2\"}")
                 ));
-
-        // Override the API URLs to use WireMock server
-        System.setProperty("api.weather.provider1.url", "http://localhost:" + wireMockServer.port() + "/provider1");
-        System.setProperty("api.weather.provider2.url", "http://localhost:" + wireMockServer.port() + "/provider2");
     }
 
-    @AfterEach
-    void tearDown() {
+    @AfterAll
+    static void tearDown() {
         wireMockServer.stop();
-        System.clearProperty("api.weather.provider1.url");
-        System.clearProperty("api.weather.provider2.url");
     }
 
     @Test
@@ -0,0 +1,123 @@
+package com.example.weatherservice.history;
+
+import com.example.weatherservice.model.WeatherData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ObservationStoreTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void range_ShouldReturnOnlyTheLocationsObservationsInRangeOldestFirst() throws IOException {
+        // Arrange
+        try (ObservationStore store = store(NOON, 100)) {
+            store.append("london", observation(NOON.minusHours(2), 15.0, "Rain"));
+            store.append("paris", observation(NOON.minusHours(1), 25.0, "Sunny"));
+            store.append("london", observation(NOON.minusHours(1), 16.5, "Cloudy"));
+            store.append("london", observation(NOON, 18.25, "Cloudy"));
+
+            // Act
+            List<WeatherData> history = store.range("london", NOON.minusMinutes(90), NOON, 100);
+
+            // Assert
+            assertEquals(2, history.size());
+            assertEquals(16.5, history.get(0).getTemperature());
+            assertEquals(NOON, history.get(1).getTimestamp());
+            assertEquals("Cloudy", history.get(1).getCondition());
+            assertEquals("london", history.get(1).getLocation());
+        }
+    }
+
+    @Test
+    void range_ShouldKeepOnlyMostRecentObservationsBeyondLimit() throws IOException {
+        // Arrange
+        try (ObservationStore store = store(NOON, 100)) {
+            for (int minute = 0; minute < 10; minute++) {
+                store.append("london", observation(NOON.minusMinutes(10 - minute), minute, "Rain"));
+            }
+
+            // Act
+            List<WeatherData> history = store.range("london", NOON.minusHours(1), NOON, 3);
+
+            // Assert
+            assertEquals(List.of(7.0, 8.0, 9.0), history.stream().map(WeatherData::getTemperature).toList());
+        }
+    }
+
+    @Test
+    void constructor_ShouldReopenExistingSegments() throws IOException {
+        // Arrange
+        try (ObservationStore store = store(NOON, 100)) {
+            store.append("london", observation(NOON, 18.0, "Rain"));
+        }
+
+        // Act
+        try (ObservationStore reopened = store(NOON, 100)) {
+            reopened.append("london", observation(NOON.plusMinutes(5), 19.0, "Rain"));
+            List<WeatherData> history = reopened.range("london", NOON.minusHours(1), NOON.plusHours(1), 100);
+
+            // Assert
+            assertEquals(2, history.size());
+            assertEquals("Provider1", history.get(0).getProvider());
+            assertEquals(19.0, history.get(1).getTemperature());
+        }
+    }
+
+    @Test
+    void append_ShouldDropObservationsWhenSegmentIsFull() throws IOException {
+        // Arrange
+        try (ObservationStore store = store(NOON, 2)) {
+            // Act
+            for (int i = 0; i < 3; i++) {
+                store.append("london", observation(NOON.minusMinutes(i), 18.0, "Rain"));
+            }
+
+            // Assert
+            assertEquals(2, store.appendedCount());
+            assertEquals(1, store.droppedCount());
+        }
+    }
+
+    @Test
+    void constructor_ShouldDeleteSegmentsOlderThanRetention() throws IOException {
+        // Arrange
+        try (ObservationStore store = store(NOON.minusDays(10), 100)) {
+            store.append("london", observation(NOON.minusDays(10), 18.0, "Rain"));
+        }
+        Path oldSegment = directory.resolve("obs-" + NOON.minusDays(10).toLocalDate().toEpochDay() + ".seg");
+        assertTrue(Files.exists(oldSegment));
+
+        // Act
+        try (ObservationStore store = store(NOON, 100)) {
+            // Assert
+            assertFalse(Files.exists(oldSegment));
+            assertEquals(0, store.segmentCount());
+        }
+    }
+
+    private ObservationStore store(LocalDateTime now, int recordsPerSegment) throws IOException {
+        Clock clock = Clock.fixed(now.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        return new ObservationStore(directory, Duration.ofDays(7), recordsPerSegment, clock);
+    }
+
+    private static WeatherData observation(LocalDateTime timestamp, double temperature, String condition) {
+        return new WeatherData("London", temperature, 60.0, 10.0, condition, timestamp, "Provider1");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.weatherservice.location;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeohashTest {
+
+    @Test
+    void encode_ShouldMatchReferenceHash() {
+        // Act & Assert
+        assertEquals("u4pruydqqvj", Geohash.encode(57.64911, 10.40744, 11));
+        assertEquals("gcpvj", Geohash.encode(51.5074, -0.1278, 5));
+    }
+
+    @Test
+    void decodeCenter_ShouldReturnPointInsideTheSameCell() {
+        // Arrange
+        String cell = Geohash.encode(40.7128, -74.0060, 6);
+
+        // Act
+        double[] center = Geohash.decodeCenter(cell);
+
+        // Assert
+        assertEquals(cell, Geohash.encode(center[0], center[1], 6));
+        assertEquals(40.7128, center[0], 0.01);
+        assertEquals(-74.0060, center[1], 0.01);
+    }
+
+    @Test
+    void encode_ShouldRejectUnsupportedPrecision() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> Geohash.encode(0, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Geohash.decodeCenter("abc"));
+    }
+}
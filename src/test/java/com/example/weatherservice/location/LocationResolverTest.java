@@ -0,0 +1,80 @@
+package com.example.weatherservice.location;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LocationResolverTest {
+
+    private final LocationResolver resolver = LocationResolver.withDefaultGazetteer(5);
+
+    @Test
+    void resolve_ShouldMapSpellingsOfAPlaceToOneCell() {
+        // Act
+        ResolvedLocation london = resolver.resolve("London");
+
+        // Assert
+        assertEquals("gh:gcpvj", london.key());
+        assertEquals("London", london.query());
+        assertEquals(london, resolver.resolve("  london "));
+        assertEquals(london, resolver.resolve("London,UK"));
+        assertEquals(london, resolver.resolve("london, gb"));
+        assertEquals(london, resolver.resolve("51.5074,-0.1278"));
+    }
+
+    @Test
+    void resolve_ShouldShareCellForNearbyCoordinates() {
+        // Act
+        ResolvedLocation first = resolver.resolve("51.5080, -0.1270");
+        ResolvedLocation second = resolver.resolve("51.52,-0.10");
+
+        // Assert
+        assertEquals(first, second);
+        assertEquals("London", first.query());
+    }
+
+    @Test
+    void resolve_ShouldUseCountryQualifierAndAliases() {
+        // Act & Assert
+        assertEquals("London", resolver.resolve("London, CA").query());
+        assertNotEquals(resolver.resolve("London").key(), resolver.resolve("London,CA").key());
+        assertEquals(resolver.resolve("New York"), resolver.resolve("NYC"));
+    }
+
+    @Test
+    void resolve_ShouldQueryCellCentreForCoordinatesAwayFromKnownPlaces() {
+        // Act
+        ResolvedLocation resolved = resolver.resolve("-45.0,-120.0");
+
+        // Assert
+        assertEquals("gh:3248j", resolved.key());
+        assertEquals("-44.9780,-119.9927", resolved.query());
+        assertEquals(resolved.query(), resolver.upstreamQuery(resolved.key()));
+        assertEquals(resolved.key(), resolver.resolve(resolved.query()).key());
+    }
+
+    @Test
+    void resolve_ShouldFallBackToNormalizedNameForUnknownPlaces() {
+        // Act
+        ResolvedLocation resolved = resolver.resolve("  Springfield  Gardens ");
+
+        // Assert
+        assertEquals("springfield gardens", resolved.key());
+        assertEquals("Springfield  Gardens", resolved.query());
+        assertEquals("springfield gardens", resolver.upstreamQuery(resolved.key()));
+    }
+
+    @Test
+    void constructor_ShouldRejectGazetteerWithInvalidCoordinates() {
+        // Arrange
+        ByteArrayResource gazetteer = new ByteArrayResource("Nowhere,XX,north,west\n".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> new LocationResolver(gazetteer, 5));
+    }
+}
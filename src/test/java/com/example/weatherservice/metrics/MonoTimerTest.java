@@ -0,0 +1,66 @@
+package com.example.weatherservice.metrics;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonoTimerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void time_ShouldRecordOutcomeFromValue() {
+        // Act
+        StepVerifier.create(MonoTimer.time(Mono.just(3).delayElement(Duration.ofMillis(20)), registry,
+                        "weather.test", Tags.of("stage", "a"), value -> value > 2 ? "large" : "small"))
+                .expectNext(3)
+                .verifyComplete();
+
+        // Assert
+        Timer timer = registry.find("weather.test").tags("stage", "a", "outcome", "large").timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+        assertTrue(timer.totalTime(TimeUnit.MILLISECONDS) >= 15);
+    }
+
+    @Test
+    void time_ShouldRecordErrorsEmptyResultsAndCancellations() {
+        // Act
+        StepVerifier.create(MonoTimer.time(Mono.error(new IllegalStateException()), registry, "weather.test", Tags.empty()))
+                .expectError(IllegalStateException.class)
+                .verify();
+        StepVerifier.create(MonoTimer.time(Mono.empty(), registry, "weather.test", Tags.empty()))
+                .verifyComplete();
+        StepVerifier.create(MonoTimer.time(Mono.never(), registry, "weather.test", Tags.empty()))
+                .thenCancel()
+                .verify();
+
+        // Assert
+        assertEquals(1, registry.find("weather.test").tag("outcome", "error").timer().count());
+        assertEquals(1, registry.find("weather.test").tag("outcome", "empty").timer().count());
+        assertEquals(1, registry.find("weather.test").tag("outcome", "cancelled").timer().count());
+    }
+
+    @Test
+    void time_ShouldStartTimingOnEachSubscription() {
+        // Arrange
+        Mono<String> timed = MonoTimer.time(Mono.just("x"), registry, "weather.test", Tags.empty());
+
+        // Act
+        timed.block();
+        timed.block();
+
+        // Assert
+        assertEquals(2, registry.find("weather.test").tag("outcome", MonoTimer.SUCCESS).timer().count());
+    }
+}
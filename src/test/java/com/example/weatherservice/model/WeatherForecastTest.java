@@ -0,0 +1,149 @@
+package com.example.weatherservice.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WeatherForecastTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    void jackson_ShouldBindThroughConstructor() throws Exception {
+        // Arrange
+        WeatherForecast forecast = new WeatherForecast("London", Collections.singletonList(
+                new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 2), 8.0, 2.0, "Rain", 0.8)), "Provider2");
+
+        // Act
+        WeatherForecast decoded = objectMapper.readValue(
+                objectMapper.writeValueAsBytes(forecast), WeatherForecast.class);
+
+        // Assert
+        assertEquals(forecast, decoded);
+    }
+
+    @Test
+    void constructor_ShouldShareRepeatedConditionsProvidersAndDates() {
+        // Arrange
+        String condition = new String("Partly Cloudy");
+        String provider = new String("Provider2");
+
+        // Act
+        WeatherForecast.DailyForecast first = new WeatherForecast.DailyForecast(
+                LocalDate.of(2024, 1, 2), 8.0, 2.0, "Partly Cloudy", 0.1);
+        WeatherForecast.DailyForecast second = new WeatherForecast.DailyForecast(
+                LocalDate.parse("2024-01-02"), 9.0, 3.0, condition, 0.2);
+        WeatherForecast forecast = new WeatherForecast("Paris", List.of(first), provider);
+
+        // Assert
+        assertSame(first.getCondition(), second.getCondition());
+        assertSame(first.getDate(), second.getDate());
+        assertSame(forecast.getProvider(),
+                new WeatherForecast("Rome", List.of(), new String("Provider2")).getProvider());
+    }
+
+    @Test
+    void getDailyForecasts_ShouldNotBeAffectedByChangesToTheSourceList() {
+        // Arrange
+        List<WeatherForecast.DailyForecast> days = new ArrayList<>();
+        days.add(new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 2), 8.0, 2.0, "Rain", 0.8));
+        WeatherForecast forecast = new WeatherForecast("London", days, "Provider2");
+
+        // Act
+        days.clear();
+
+        // Assert
+        assertEquals(1, forecast.getDailyForecasts().size());
+        assertThrows(UnsupportedOperationException.class, () -> forecast.getDailyForecasts().clear());
+    }
+
+    @Test
+    void columns_ShouldMatchDailyForecastView() {
+        // Arrange
+        LocalDate start = LocalDate.of(2024, 3, 30);
+        List<WeatherForecast.DailyForecast> days = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            days.add(new WeatherForecast.DailyForecast(start.plusDays(i), 10.0 + i, i, i % 2 == 0 ? "Sunny" : "Rain", i / 16.0));
+        }
+
+        // Act
+        WeatherForecast forecast = new WeatherForecast("London", days, "Provider2");
+
+        // Assert
+        assertEquals(16, forecast.dayCount());
+        assertEquals(LocalDate.of(2024, 4, 14), forecast.date(15));
+        assertEquals(25.0, forecast.highTemp(15));
+        assertEquals("Rain", forecast.condition(15));
+        assertEquals(days, forecast.getDailyForecasts());
+    }
+
+    @Test
+    void columns_ShouldKeepDatesThatAreNotConsecutive() {
+        // Arrange
+        List<WeatherForecast.DailyForecast> days = List.of(
+                new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 1), 5.0, 1.0, "Snow", 0.9),
+                new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 3), 6.0, 2.0, "Snow", 0.5));
+
+        // Act
+        WeatherForecast forecast = new WeatherForecast("Oslo", days, "Provider2");
+
+        // Assert
+        assertEquals(LocalDate.of(2024, 1, 3), forecast.date(1));
+        assertEquals(days, forecast.getDailyForecasts());
+    }
+
+    @Test
+    void jackson_ShouldWriteSameShapeAsObjectPerDay() throws Exception {
+        // Arrange
+        WeatherForecast forecast = new WeatherForecast("London", Collections.singletonList(
+                new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 2), 8.0, 2.0, "Rain", 0.8)), "Provider2");
+
+        // Act
+        JsonNode json = objectMapper.valueToTree(forecast);
+
+        // Assert
+        assertEquals(List.of("location", "dailyForecasts", "provider"), fieldNames(json));
+        assertEquals(List.of("date", "highTemp", "lowTemp", "condition", "precipitationChance"),
+                fieldNames(json.get("dailyForecasts").get(0)));
+        assertEquals("2024-01-02", json.get("dailyForecasts").get(0).get("date").asText());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    @Test
+    void slice_ShouldKeepLeadingDaysAndReturnSelfWhenNotShorter() {
+        // Arrange
+        WeatherForecast forecast = new WeatherForecast("Oslo", List.of(
+                new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 2), 1.0, -3.0, "Snow", 0.9),
+                new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 3), 2.0, -2.0, "Cloudy", 0.2),
+                new WeatherForecast.DailyForecast(LocalDate.of(2024, 1, 4), 3.0, -1.0, "Snow", 0.5)), "Provider2");
+
+        // Act
+        WeatherForecast twoDays = forecast.slice(2);
+
+        // Assert
+        assertEquals(forecast.getDailyForecasts().subList(0, 2), twoDays.getDailyForecasts());
+        assertEquals("Oslo", twoDays.getLocation());
+        assertSame(forecast, forecast.slice(3));
+        assertSame(forecast, forecast.slice(10));
+        assertEquals(0, forecast.slice(0).dayCount());
+        assertThrows(IllegalArgumentException.class, () -> forecast.slice(-1));
+    }
+}
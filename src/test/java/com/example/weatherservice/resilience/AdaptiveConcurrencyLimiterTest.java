@@ -0,0 +1,96 @@
+package com.example.weatherservice.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    void tryAcquire_ShouldRejectBeyondLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10);
+
+        // Act & Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.getInFlight());
+        assertEquals(1, limiter.getRejectedCount());
+
+        limiter.onIgnore();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void onSuccess_ShouldGrowWhenLatencyIsStableAndShrinkWhenItRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 200);
+
+        // Act
+        completeAtFullLoad(limiter, Duration.ofMillis(10), 100);
+        int limitAfterSteadyLatency = limiter.getLimit();
+        completeAtFullLoad(limiter, Duration.ofMillis(100), 100);
+        int limitAfterLatencyRise = limiter.getLimit();
+
+        // Assert
+        assertTrue(limitAfterSteadyLatency > 20);
+        assertTrue(limitAfterLatencyRise < limitAfterSteadyLatency);
+    }
+
+    @Test
+    void onDropped_ShouldBackOffButNotBelowMinimum() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 200);
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onDropped();
+        }
+
+        // Assert
+        assertEquals(5, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void onSuccess_ShouldReleaseEverySlotUnderConcurrentCompletions() throws InterruptedException {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 5, 200);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int thread = 0; thread < 8; thread++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.tryAcquire()) {
+                        limiter.onSuccess(Duration.ofMillis(10 + i % 5).toNanos());
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Assert
+        assertEquals(0, limiter.getInFlight());
+        assertTrue(limiter.getLimit() >= 5 && limiter.getLimit() <= 200);
+    }
+
+    private static void completeAtFullLoad(AdaptiveConcurrencyLimiter limiter, Duration rtt, int samples) {
+        for (int i = 0; i < samples; i++) {
+            while (limiter.tryAcquire()) {
+                // fill every available slot so the limiter sees real load
+            }
+            limiter.onSuccess(rtt.toNanos());
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.weatherservice.resilience;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HedgingPolicyTest {
+
+    @Test
+    void execute_ShouldLetHedgeWinWhenPrimaryIsSlow() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(
+                true, 95, Duration.ofMillis(100), Duration.ofMillis(100), 1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> policy.execute(() -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(1)).thenReturn("primary")
+                        : Mono.delay(Duration.ofMillis(200)).thenReturn("hedge")))
+                .thenAwait(Duration.ofMillis(300))
+                .expectNext("hedge")
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(1, policy.hedgesFiredCount());
+        assertEquals(1, policy.hedgesWonCount());
+        // The cancelled primary still counts towards the latency percentile
+        assertEquals(1, policy.latencySampleCount());
+    }
+
+    @Test
+    void execute_ShouldNotHedgeWithoutBudget() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(
+                true, 95, Duration.ofMillis(100), Duration.ofMillis(100), 0.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> policy.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.delay(Duration.ofSeconds(1)).thenReturn("primary");
+                }))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertEquals(0, policy.hedgesFiredCount());
+    }
+
+    @Test
+    void execute_ShouldCallOnceWhenDisabled() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(
+                false, 95, Duration.ofMillis(1), Duration.ofMillis(1), 1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(policy.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.just("primary");
+                }))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(1, calls.get());
+        assertEquals(0, policy.callCount());
+    }
+
+    @Test
+    void execute_ShouldKeepWaitingForPrimaryWhenHedgeFails() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(
+                true, 95, Duration.ofMillis(100), Duration.ofMillis(100), 1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.withVirtualTime(() -> policy.execute(() -> calls.incrementAndGet() == 1
+                        ? Mono.delay(Duration.ofSeconds(1)).thenReturn("primary")
+                        : Mono.<String>error(new IllegalStateException("hedge failed"))))
+                .thenAwait(Duration.ofSeconds(1))
+                .expectNext("primary")
+                .verifyComplete();
+
+        assertEquals(2, calls.get());
+        assertEquals(1, policy.hedgesFiredCount());
+        assertEquals(0, policy.hedgesWonCount());
+    }
+
+    @Test
+    void execute_ShouldFailWithPrimaryErrorWithoutHedging() {
+        // Arrange
+        HedgingPolicy policy = new HedgingPolicy(
+                true, 95, Duration.ofSeconds(1), Duration.ofSeconds(1), 1.0);
+        AtomicInteger calls = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(policy.execute(() -> {
+                    calls.incrementAndGet();
+                    return Mono.<String>error(new IllegalStateException("upstream down"));
+                }))
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofMillis(500));
+
+        assertEquals(1, calls.get());
+        assertEquals(0, policy.hedgesFiredCount());
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.weatherservice.resilience;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProviderResilienceTest {
+
+    private static final HedgingPolicy NO_HEDGING =
+            new HedgingPolicy(false, 95, Duration.ZERO, Duration.ZERO, 0);
+
+    @Test
+    void execute_ShouldFailFastOnceCircuitOpens() {
+        // Arrange
+        CircuitBreaker circuitBreaker = CircuitBreaker.of("provider1", CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofMinutes(1))
+                .build());
+        ProviderResilience resilience = new ProviderResilience(
+                "provider1", circuitBreaker, Bulkhead.ofDefaults("provider1"), NO_HEDGING);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            resilience.execute(() -> {
+                upstreamCalls.incrementAndGet();
+                return Mono.error(new IllegalStateException("upstream down"));
+            }).onErrorResume(error -> Mono.empty()).block();
+        }
+
+        // Act & Assert
+        StepVerifier.create(resilience.execute(() -> {
+                    upstreamCalls.incrementAndGet();
+                    return Mono.just("sunny");
+                }))
+                .expectError(CallNotPermittedException.class)
+                .verify();
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_ShouldRejectCallsBeyondBulkheadLimit() {
+        // Arrange
+        Bulkhead bulkhead = Bulkhead.of("provider2", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        ProviderResilience resilience = new ProviderResilience(
+                "provider2", CircuitBreaker.ofDefaults("provider2"), bulkhead, NO_HEDGING);
+
+        // Act
+        resilience.execute(Mono::never).subscribe();
+
+        // Assert
+        StepVerifier.create(resilience.execute(() -> Mono.just("rain")))
+                .expectError(BulkheadFullException.class)
+                .verify();
+    }
+
+    @Test
+    void execute_ShouldNotCallUpstreamUntilSubscribed() {
+        // Arrange
+        ProviderResilience resilience = new ProviderResilience("provider1",
+                CircuitBreaker.ofDefaults("provider1"), Bulkhead.ofDefaults("provider1"), NO_HEDGING);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // Act
+        Mono<String> result = resilience.execute(() -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.just("sunny");
+        });
+
+        // Assert
+        assertEquals(0, upstreamCalls.get());
+        StepVerifier.create(result).expectNext("sunny").verifyComplete();
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    void execute_ShouldTakeOneBulkheadPermitPerHedgedCall() {
+        // Arrange
+        Bulkhead bulkhead = Bulkhead.of("provider3", BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        HedgingPolicy hedging = new HedgingPolicy(true, 95, Duration.ofMillis(10), Duration.ofMillis(10), 1.0);
+        ProviderResilience resilience = new ProviderResilience(
+                "provider3", CircuitBreaker.ofDefaults("provider3"), bulkhead, hedging);
+        AtomicInteger upstreamCalls = new AtomicInteger();
+
+        // Act & Assert
+        StepVerifier.create(resilience.execute(() -> {
+                    upstreamCalls.incrementAndGet();
+                    return Mono.just("sunny").delayElement(Duration.ofMillis(50));
+                }))
+                .expectNext("sunny")
+                .verifyComplete();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(1, bulkhead.getMetrics().getAvailableConcurrentCalls());
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.cache.HotKeySketch;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.cluster.ClusterRouter;
+import com.example.weatherservice.location.LocationResolver;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WeatherAggregatorServiceTest {
+
+    private WeatherProviderRegistry providerRegistry;
+    private WeatherAggregatorService weatherAggregatorService;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        providerRegistry = mock(WeatherProviderRegistry.class);
+        meterRegistry = new SimpleMeterRegistry();
+        weatherAggregatorService = new WeatherAggregatorService(
+                providerRegistry,
+                new ResponseCache<>("current", Duration.ofMinutes(5), 100),
+                new ResponseCache<>("forecast", Duration.ofMinutes(5), 100),
+                new HotKeySketch<>(10, 64),
+                ClusterRouter.standalone(),
+                LocationResolver.withDefaultGazetteer(5),
+                meterRegistry,
+                Duration.ofMillis(200),
+                true,
+                7
+        );
+    }
+
+    @Test
+    void getCurrentWeather_ShouldServeRepeatedLookupsFromCache() {
+        // Arrange
+        WeatherData weatherData = new WeatherData(
+                "London", 18.0, 70.0, 12.0, "Rain", LocalDateTime.now(), "Provider1"
+        );
+        when(providerRegistry.getCurrentWeather(anyString()))
+                .thenReturn(Mono.just(weatherData));
+
+        // Act & Assert
+        StepVerifier.create(weatherAggregatorService.getCurrentWeather("London"))
+                .expectNext(weatherData)
+                .verifyComplete();
+        StepVerifier.create(weatherAggregatorService.getCurrentWeather("  london "))
+                .expectNext(weatherData)
+                .verifyComplete();
+
+        verify(providerRegistry, times(1)).getCurrentWeather(anyString());
+    }
+
+    @Test
+    void getCurrentWeather_ShouldShareOneEntryForNamesAndNearbyCoordinates() {
+        // Arrange
+        WeatherData weatherData = new WeatherData(
+                "London", 18.0, 70.0, 12.0, "Rain", LocalDateTime.now(), "Provider1"
+        );
+        when(providerRegistry.getCurrentWeather("London"))
+                .thenReturn(Mono.just(weatherData));
+
+        // Act
+        weatherAggregatorService.getCurrentWeather("London,UK").block();
+        weatherAggregatorService.getCurrentWeather("51.5080,-0.1270").block();
+        WeatherData result = weatherAggregatorService.getCurrentWeather("london").block();
+
+        // Assert
+        assertEquals(weatherData, result);
+        verify(providerRegistry, times(1)).getCurrentWeather(anyString());
+    }
+
+    @Test
+    void getForecast_ShouldFetchFullHorizonOnceAndSliceIt() {
+        // Arrange
+        List<WeatherForecast.DailyForecast> days = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            days.add(new WeatherForecast.DailyForecast(LocalDate.now().plusDays(i), 20.0 + i, 12.0, "Sunny", 0.1));
+        }
+        WeatherForecast forecast = new WeatherForecast("London", days, "Provider2");
+        when(providerRegistry.getForecast(anyString(), anyInt()))
+                .thenReturn(Mono.just(forecast));
+
+        // Act
+        WeatherForecast threeDays = weatherAggregatorService.getForecast("London", 3).block();
+        WeatherForecast fiveDays = weatherAggregatorService.getForecast("London", 5).block();
+        WeatherForecast tenDays = weatherAggregatorService.getForecast("London", 10).block();
+
+        // Assert
+        verify(providerRegistry, times(1)).getForecast("London", 7);
+        verify(providerRegistry, times(1)).getForecast(anyString(), anyInt());
+        assertEquals(3, threeDays.dayCount());
+        assertEquals(days.subList(0, 5), fiveDays.getDailyForecasts());
+        assertEquals(forecast, tenDays);
+    }
+
+    @Test
+    void getFullWeatherReport_ShouldReturnPartialReportWhenForecastTimesOut() {
+        // Arrange
+        WeatherData weatherData = new WeatherData(
+                "Sydney", 26.0, 60.0, 8.0, "Sunny", LocalDateTime.now(), "Provider1"
+        );
+        when(providerRegistry.getCurrentWeather(anyString()))
+                .thenReturn(Mono.just(weatherData));
+        when(providerRegistry.getForecast(anyString(), anyInt()))
+                .thenReturn(Mono.never());
+
+        // Act & Assert
+        StepVerifier.create(weatherAggregatorService.getFullWeatherReport("Sydney", 3))
+                .assertNext(report -> {
+                    assertEquals(weatherData, report.getCurrentWeather());
+                    assertNull(report.getForecast());
+                    assertTrue(report.isPartial());
+                    assertEquals(Collections.singletonList(WeatherAggregatorService.WeatherReport.FORECAST),
+                            report.getMissingSections());
+                })
+                .verifyComplete();
+        assertEquals(1, meterRegistry.find(WeatherAggregatorService.REPORT_TIMER)
+                .tag("outcome", "partial").timer().count());
+    }
+
+    @Test
+    void getFullWeatherReport_ShouldFailWhenBothProvidersFail() {
+        // Arrange
+        when(providerRegistry.getCurrentWeather(anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("provider1 down")));
+        when(providerRegistry.getForecast(anyString(), anyInt()))
+                .thenReturn(Mono.error(new IllegalStateException("provider2 down")));
+
+        // Act & Assert
+        StepVerifier.create(weatherAggregatorService.getFullWeatherReport("Sydney", 3))
+                .expectErrorMessage("provider1 down")
+                .verify();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.model.BatchWeatherResponse;
+import com.example.weatherservice.model.WeatherData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WeatherBatchServiceTest {
+
+    private WeatherAggregatorService weatherService;
+    private WeatherBatchService batchService;
+
+    @BeforeEach
+    void setUp() {
+        weatherService = mock(WeatherAggregatorService.class);
+        batchService = new WeatherBatchService(weatherService, 4, 500);
+    }
+
+    @Test
+    void getCurrentWeather_ShouldDedupeLocationsAndKeepRequestOrder() {
+        // Arrange
+        when(weatherService.getCurrentWeather(anyString())).thenAnswer(invocation -> Mono.just(new WeatherData(
+                invocation.getArgument(0), 20.0, 50.0, 5.0, "Sunny", LocalDateTime.now(), "Provider1"
+        )));
+
+        // Act
+        BatchWeatherResponse response = batchService
+                .getCurrentWeather(Arrays.asList("Paris", "Tokyo", " paris", "PARIS"))
+                .block();
+
+        // Assert
+        assertEquals(2, response.getResults().size());
+        assertEquals("Paris", response.getResults().get(0).getLocation());
+        assertEquals("Tokyo", response.getResults().get(1).getLocation());
+        verify(weatherService, times(2)).getCurrentWeather(anyString());
+    }
+
+    @Test
+    void getCurrentWeather_ShouldReportFailuresPerLocation() {
+        // Arrange
+        when(weatherService.getCurrentWeather("Berlin")).thenReturn(Mono.just(new WeatherData(
+                "Berlin", 10.0, 80.0, 15.0, "Cloudy", LocalDateTime.now(), "Provider1"
+        )));
+        when(weatherService.getCurrentWeather("Atlantis"))
+                .thenReturn(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        // Act
+        BatchWeatherResponse response = batchService
+                .getCurrentWeather(Arrays.asList("Berlin", "Atlantis"))
+                .block();
+
+        // Assert
+        assertEquals(10.0, response.getResults().get(0).getWeather().getTemperature());
+        assertNull(response.getResults().get(0).getError());
+        assertNull(response.getResults().get(1).getWeather());
+        assertEquals(WeatherBatchService.NOT_FOUND, response.getResults().get(1).getError());
+    }
+
+    @Test
+    void getCurrentWeather_ShouldNotExposeUpstreamErrorDetails() {
+        // Arrange
+        when(weatherService.getCurrentWeather("Oslo")).thenReturn(Mono.error(
+                new IllegalStateException("Connection refused: provider1.internal:8443")));
+
+        // Act
+        BatchWeatherResponse response = batchService
+                .getCurrentWeather(Arrays.asList("Oslo"))
+                .block();
+
+        // Assert
+        assertEquals(WeatherBatchService.UNAVAILABLE, response.getResults().get(0).getError());
+    }
+}
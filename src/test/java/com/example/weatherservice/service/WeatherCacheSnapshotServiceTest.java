@@ -0,0 +1,93 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.cache.ForecastKey;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import com.example.weatherservice.model.WeatherForecast.DailyForecast;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeatherCacheSnapshotServiceTest {
+
+    @TempDir
+    Path snapshotDir;
+
+    @Test
+    void snapshotAll_ShouldRestoreEntriesIntoFreshCaches() {
+        // Arrange
+        ResponseCache<String, WeatherData> currentWeatherCache = newCurrentCache();
+        ResponseCache<ForecastKey, WeatherForecast> forecastCache = newForecastCache();
+        WeatherData weather = new WeatherData("oslo", 4.5, 80.0, 12.0, "Rain", LocalDateTime.now(), "Provider1");
+        WeatherForecast forecast = new WeatherForecast("oslo",
+                List.of(new DailyForecast(LocalDate.now(), 6.0, 1.0, "Rain", 90.0)), "Provider2");
+        currentWeatherCache.get("oslo", key -> Mono.just(weather)).block();
+        forecastCache.get(new ForecastKey("oslo", 1), key -> Mono.just(forecast)).block();
+
+        WeatherCacheSnapshotService writer = newService(currentWeatherCache, forecastCache);
+
+        ResponseCache<String, WeatherData> restoredCurrent = newCurrentCache();
+        ResponseCache<ForecastKey, WeatherForecast> restoredForecast = newForecastCache();
+        WeatherCacheSnapshotService reader = newService(restoredCurrent, restoredForecast);
+
+        // Act
+        int written = writer.snapshotAll();
+        int restored = reader.restoreAll();
+
+        // Assert
+        assertEquals(2, written);
+        assertEquals(2, restored);
+        assertTrue(Files.exists(snapshotDir.resolve("current.snapshot.smile")));
+        assertEquals(weather, restoredCurrent.get("oslo", key -> Mono.empty()).block());
+        WeatherForecast restoredOslo = restoredForecast.get(new ForecastKey("oslo", 1), key -> Mono.empty()).block();
+        assertEquals(1, restoredOslo.dayCount());
+        assertEquals("Rain", restoredOslo.condition(0));
+
+        writer.destroy();
+        reader.destroy();
+    }
+
+    @Test
+    void restoreAll_ShouldReturnZeroWithoutSnapshotFiles() {
+        // Arrange
+        WeatherCacheSnapshotService service = newService(newCurrentCache(), newForecastCache());
+
+        // Act
+        int restored = service.restoreAll();
+
+        // Assert
+        assertEquals(0, restored);
+        service.destroy();
+    }
+
+    private WeatherCacheSnapshotService newService(ResponseCache<String, WeatherData> currentWeatherCache,
+                                                   ResponseCache<ForecastKey, WeatherForecast> forecastCache) {
+        return new WeatherCacheSnapshotService(currentWeatherCache, forecastCache,
+                new ObjectMapper()
+                        .registerModule(new JavaTimeModule())
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+                false, snapshotDir, Duration.ofMinutes(5));
+    }
+
+    private static ResponseCache<String, WeatherData> newCurrentCache() {
+        return new ResponseCache<>("current", Duration.ofMinutes(5), Duration.ofMinutes(10), 100);
+    }
+
+    private static ResponseCache<ForecastKey, WeatherForecast> newForecastCache() {
+        return new ResponseCache<>("forecast", Duration.ofMinutes(15), Duration.ofMinutes(30), 100);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.history.ObservationStore;
+import com.example.weatherservice.location.LocationResolver;
+import com.example.weatherservice.model.WeatherData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WeatherHistoryServiceTest {
+
+    private static final LocalDateTime NOON = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void getHistory_ShouldReturnObservationsLoadedIntoTheCurrentWeatherCache() throws Exception {
+        // Arrange
+        Clock clock = Clock.fixed(NOON.toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+        ResponseCache<String, WeatherData> cache = new ResponseCache<>("current", Duration.ofMinutes(5), 100);
+        LocationResolver resolver = LocationResolver.withDefaultGazetteer(5);
+        String key = resolver.resolve("London").key();
+        WeatherData observation = new WeatherData("London", 18.0, 60.0, 4.0, "Cloudy", NOON, "Provider1");
+
+        try (ObservationStore store = new ObservationStore(directory, Duration.ofDays(7), 100, clock)) {
+            WeatherHistoryService service = new WeatherHistoryService(store, cache, resolver, 100, 10);
+
+            // Act
+            cache.get(key, k -> Mono.just(observation)).block();
+            service.destroy();
+
+            // Assert
+            StepVerifier.create(service.getHistory("london", NOON.minusHours(1), NOON))
+                    .expectNextMatches(stored -> stored.getLocation().equals("London")
+                            && stored.getTimestamp().equals(NOON)
+                            && stored.getTemperature() == 18.0)
+                    .verifyComplete();
+            assertEquals(0, service.droppedAppendCount());
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.cache.ForecastKey;
+import com.example.weatherservice.cache.HotKeySketch;
+import com.example.weatherservice.cache.ResponseCache;
+import com.example.weatherservice.location.LocationResolver;
+import com.example.weatherservice.model.WeatherData;
+import com.example.weatherservice.model.WeatherForecast;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WeatherPrefetchServiceTest {
+
+    private WeatherProviderRegistry providerRegistry;
+    private ResponseCache<String, WeatherData> currentWeatherCache;
+    private HotKeySketch<String> hotLocations;
+    private LocationResolver locationResolver;
+    private WeatherPrefetchService prefetchService;
+
+    @BeforeEach
+    void setUp() {
+        providerRegistry = mock(WeatherProviderRegistry.class);
+        currentWeatherCache = new ResponseCache<>("current", Duration.ofMinutes(5), 100);
+        hotLocations = new HotKeySketch<>(10, 256);
+        locationResolver = LocationResolver.withDefaultGazetteer(5);
+        prefetchService = new WeatherPrefetchService(
+                currentWeatherCache,
+                new ResponseCache<ForecastKey, WeatherForecast>("forecast", Duration.ofMinutes(15), 100),
+                providerRegistry,
+                hotLocations,
+                locationResolver,
+                false,
+                Duration.ofSeconds(15),
+                Duration.ofMinutes(1),
+                10,
+                2,
+                5,
+                Collections.singletonList("  New York "),
+                Duration.ofMinutes(5)
+        );
+
+        when(providerRegistry.getCurrentWeather(anyString())).thenAnswer(invocation -> Mono.just(new WeatherData(
+                invocation.getArgument(0), 20.0, 50.0, 5.0, "Sunny", LocalDateTime.now(), "Provider1")));
+        when(providerRegistry.getForecast(anyString(), anyInt())).thenAnswer(invocation -> Mono.just(
+                new WeatherForecast(invocation.getArgument(0), Collections.emptyList(), "Provider2")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        prefetchService.destroy();
+    }
+
+    @Test
+    void prefetchOnce_ShouldWarmPinnedAndHotLocations() {
+        // Arrange
+        hotLocations.record(locationResolver.resolve("tokyo").key());
+
+        // Act
+        Integer reloaded = prefetchService.prefetchOnce().block();
+
+        // Assert
+        assertEquals(4, reloaded);
+        verify(providerRegistry, times(1)).getCurrentWeather("New York");
+        verify(providerRegistry, times(1)).getCurrentWeather("Tokyo");
+        verify(providerRegistry, times(1)).getForecast("New York", 5);
+        verify(providerRegistry, times(1)).getForecast("Tokyo", 5);
+        assertEquals(2, currentWeatherCache.size());
+    }
+
+    @Test
+    void prefetchOnce_ShouldSkipEntriesThatAreStillFresh() {
+        // Arrange
+        prefetchService.prefetchOnce().block();
+
+        // Act
+        Integer reloaded = prefetchService.prefetchOnce().block();
+
+        // Assert
+        assertEquals(0, reloaded);
+        verify(providerRegistry, times(1)).getCurrentWeather("New York");
+        verify(providerRegistry, never()).getCurrentWeather("Tokyo");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.model.WeatherData;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WeatherProviderRegistryTest {
+
+    @Test
+    void getCurrentWeather_ShouldMergeQuorumWithMedianAndMajority() {
+        // Arrange
+        WeatherProviderRegistry registry = registry(3, Duration.ofSeconds(1),
+                provider("a", Mono.just(reading(20.0, "Rain", "ProviderA"))),
+                provider("b", Mono.just(reading(22.0, "Rain", "ProviderB"))),
+                provider("c", Mono.just(reading(30.0, "Sunny", "ProviderC"))));
+
+        // Act & Assert
+        StepVerifier.create(registry.getCurrentWeather("London"))
+                .assertNext(merged -> {
+                    assertEquals(22.0, merged.getTemperature());
+                    assertEquals("Rain", merged.getCondition());
+                    assertEquals("ProviderA,ProviderB,ProviderC", merged.getProvider());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getCurrentWeather_ShouldNotWaitForSlowProviderPastDeadline() {
+        // Arrange
+        WeatherProviderRegistry registry = registry(2, Duration.ofMillis(100),
+                provider("fast", Mono.just(reading(18.0, "Cloudy", "Fast"))),
+                provider("slow", Mono.never()));
+
+        // Act & Assert
+        StepVerifier.create(registry.getCurrentWeather("London"))
+                .assertNext(merged -> assertEquals("Fast", merged.getProvider()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void getCurrentWeather_ShouldFailOnlyWhenEveryProviderFails() {
+        // Arrange
+        WeatherProviderRegistry registry = registry(2, Duration.ofMillis(100),
+                provider("a", Mono.error(new IllegalStateException("a down"))),
+                provider("b", Mono.error(new IllegalStateException("b down"))));
+
+        // Act & Assert
+        StepVerifier.create(registry.getCurrentWeather("London"))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    private static WeatherProviderRegistry registry(int quorum, Duration deadline, CurrentWeatherProvider... providers) {
+        List<ForecastProvider> noForecastProviders = Collections.emptyList();
+        return new WeatherProviderRegistry(Arrays.asList(providers), noForecastProviders,
+                new SimpleMeterRegistry(), quorum, deadline);
+    }
+
+    private static WeatherData reading(double temperature, String condition, String provider) {
+        return new WeatherData("London", temperature, 60.0, 10.0, condition, LocalDateTime.now(), provider);
+    }
+
+    private static CurrentWeatherProvider provider(String name, Mono<WeatherData> response) {
+        return new CurrentWeatherProvider() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Mono<WeatherData> getCurrentWeather(String location) {
+                return response;
+            }
+        };
+    }
+}
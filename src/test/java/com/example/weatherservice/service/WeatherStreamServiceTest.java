@@ -0,0 +1,73 @@
+package com.example.weatherservice.service;
+
+import com.example.weatherservice.model.WeatherData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.scheduler.VirtualTimeScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WeatherStreamServiceTest {
+
+    private VirtualTimeScheduler scheduler;
+    private WeatherAggregatorService weatherService;
+    private WeatherStreamService streamService;
+
+    @BeforeEach
+    void setUp() {
+        scheduler = VirtualTimeScheduler.getOrSet();
+        weatherService = mock(WeatherAggregatorService.class);
+        streamService = new WeatherStreamService(weatherService, Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        VirtualTimeScheduler.reset();
+    }
+
+    @Test
+    void stream_ShouldShareOnePollingLoopAndPushOnlyChanges() {
+        // Arrange
+        AtomicInteger polls = new AtomicInteger();
+        when(weatherService.getCurrentWeather(anyString())).thenAnswer(invocation -> {
+            // Temperature changes on the third poll only
+            double temperature = polls.incrementAndGet() < 3 ? 18.0 : 19.5;
+            return Mono.just(new WeatherData(
+                    "London", temperature, 70.0, 12.0, "Rain", LocalDateTime.now(), "Provider1"
+            ));
+        });
+        List<WeatherData> first = new ArrayList<>();
+        List<WeatherData> second = new ArrayList<>();
+
+        // Act
+        Disposable firstSubscription = streamService.stream(Collections.singletonList("London")).subscribe(first::add);
+        Disposable secondSubscription = streamService.stream(Collections.singletonList(" london")).subscribe(second::add);
+        scheduler.advanceTimeBy(Duration.ofSeconds(65));
+
+        // Assert
+        verify(weatherService, times(3)).getCurrentWeather(anyString());
+        assertEquals(1, streamService.activeFeedCount());
+        assertEquals(2, first.size());
+        assertEquals(19.5, first.get(1).getTemperature());
+        assertEquals(2, second.size());
+
+        firstSubscription.dispose();
+        secondSubscription.dispose();
+        assertEquals(0, streamService.activeFeedCount());
+    }
+}
@@ -1,10 +1,9 @@
 package com.example.weatherservice.model;
 
-import org.junit.jupiter.api.BeforeEach;
+import com.example.weatherservice.model.WeatherForecast.DailyForecast;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
-import org.mockito.MockitoAnnotations;
 
+import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
 
@@ -12,23 +11,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class WeatherForecast_getDailyForecastsTest {
 
-    @InjectMocks
-    private WeatherForecast weatherForecast;
-
-    @BeforeEach
-    public void setup() {
-        MockitoAnnotations.initMocks(this);
-    }
-
     @Test
     public void testGetDailyForecasts() {
-        DailyForecast dailyForecast1 = new DailyForecast();
-        DailyForecast dailyForecast2 = new DailyForecast();
+        DailyForecast dailyForecast1 = new DailyForecast(LocalDate.now().plusDays(1), 25.0, 15.0, "Sunny", 0.1);
+        DailyForecast dailyForecast2 = new DailyForecast(LocalDate.now().plusDays(2), 23.5, 14.0, "Rain", 0.7);
         List<DailyForecast> expectedDailyForecasts = Arrays.asList(dailyForecast1, dailyForecast2);
 
-        weatherForecast.setDailyForecasts(expectedDailyForecasts);
+        WeatherForecast weatherForecast = new WeatherForecast("New York", expectedDailyForecasts, "Provider2");
         List<DailyForecast> actualDailyForecasts = weatherForecast.getDailyForecasts();
 
         assertEquals(expectedDailyForecasts, actualDailyForecasts, "The returned daily forecasts should match the expected daily forecasts");
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,9 @@ package com.example.weatherservice.model;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class WeatherForecast_getProviderTest {
@@ -9,16 +12,15 @@ public class WeatherForecast_getProviderTest {
 
     @BeforeEach
     public void setup() {
-        weatherForecast = new WeatherForecast();
+        weatherForecast = new WeatherForecast("New York", Collections.emptyList(), "TestProvider");
     }
 
     @Test
     public void testGetProvider() {
         String expectedProvider = "TestProvider";
-        weatherForecast.setProvider(expectedProvider);
 
         String actualProvider = weatherForecast.getProvider();
 
-        assertEquals(expectedProvider, actualProvider, "Provider should be equal to the set value");
+        assertEquals(expectedProvider, actualProvider, "Provider should be equal to the constructor value");
     }
-}
\ No newline at end of file
+}